@@ -3,6 +3,7 @@ package org.mule.tooling.lang.dw.debug;
 import com.intellij.execution.ExecutionResult;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.ui.ExecutionConsole;
+import com.intellij.execution.ui.RunnerLayoutUi;
 import com.intellij.util.ArrayUtil;
 import com.intellij.xdebugger.XDebugProcess;
 import com.intellij.xdebugger.XDebugSession;
@@ -10,11 +11,14 @@ import com.intellij.xdebugger.XSourcePosition;
 import com.intellij.xdebugger.breakpoints.XBreakpointHandler;
 import com.intellij.xdebugger.evaluation.XDebuggerEditorsProvider;
 import com.intellij.xdebugger.evaluation.XDebuggerEvaluator;
+import com.intellij.xdebugger.ui.XDebugTabLayouter;
 import com.mulesoft.weave.engine.debugger.client.DebuggerClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.lang.dw.debug.breakpoint.WeaveBreakpointHandler;
 import org.mule.tooling.lang.dw.debug.breakpoint.WeaveDebuggerEditorsProvider;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyPanel;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 public class WeaveDebugProcess extends XDebugProcess
 {
@@ -22,15 +26,17 @@ public class WeaveDebugProcess extends XDebugProcess
     private final ProcessHandler processHandler;
     private final ExecutionConsole executionConsole;
     private final WeaveBreakpointHandler breakpointHandler;
+    private final DebuggerLatencyRecorder latencyRecorder;
 
 
-    protected WeaveDebugProcess(@NotNull XDebugSession session, DebuggerClient debuggerClient, ExecutionResult result)
+    protected WeaveDebugProcess(@NotNull XDebugSession session, DebuggerClient debuggerClient, ExecutionResult result, DebuggerLatencyRecorder latencyRecorder)
     {
         super(session);
         this.weaveDebuggerClient = debuggerClient;
         this.processHandler = result.getProcessHandler();
         this.executionConsole = result.getExecutionConsole();
         this.breakpointHandler = new WeaveBreakpointHandler(debuggerClient);
+        this.latencyRecorder = latencyRecorder;
     }
 
     @NotNull
@@ -46,6 +52,20 @@ public class WeaveDebugProcess extends XDebugProcess
         return processHandler;
     }
 
+    @NotNull
+    @Override
+    public XDebugTabLayouter createTabLayouter()
+    {
+        return new XDebugTabLayouter()
+        {
+            @Override
+            public void registerAdditionalContent(@NotNull RunnerLayoutUi ui)
+            {
+                DebuggerLatencyPanel.addTab(ui, getSession().getProject(), latencyRecorder);
+            }
+        };
+    }
+
     @NotNull
     @Override
     public XDebuggerEditorsProvider getEditorsProvider()
@@ -56,12 +76,14 @@ public class WeaveDebugProcess extends XDebugProcess
     @Override
     public void startStepOver()
     {
+        latencyRecorder.stepRequested();
         this.weaveDebuggerClient.nextStep();
     }
 
     @Override
     public void startStepInto()
     {
+        latencyRecorder.stepRequested();
         this.weaveDebuggerClient.stepInto();
     }
 
@@ -81,6 +103,7 @@ public class WeaveDebugProcess extends XDebugProcess
     @Override
     public void startStepOut()
     {
+        latencyRecorder.stepRequested();
         weaveDebuggerClient.nextStep();
     }
 
@@ -88,12 +111,13 @@ public class WeaveDebugProcess extends XDebugProcess
     @Override
     public XDebuggerEvaluator getEvaluator()
     {
-        return new WeaveScriptEvaluator(weaveDebuggerClient);
+        return new WeaveScriptEvaluator(weaveDebuggerClient, latencyRecorder);
     }
 
     @Override
     public void resume()
     {
+        latencyRecorder.resumed();
         weaveDebuggerClient.resume();
     }
 
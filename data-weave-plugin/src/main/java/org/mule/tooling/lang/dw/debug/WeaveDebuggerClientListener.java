@@ -8,23 +8,28 @@ import com.mulesoft.weave.engine.debugger.server.event.BreakpointAddedEvent;
 import com.mulesoft.weave.engine.debugger.server.event.BreakpointRemovedEvent;
 import com.mulesoft.weave.engine.debugger.server.event.OnFrameEvent;
 import com.mulesoft.weave.engine.debugger.server.event.ScriptResultEvent;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 public class WeaveDebuggerClientListener implements DebuggerClientListener
 {
 
     private XDebugSession session;
     private final VirtualFile file;
+    private final DebuggerLatencyRecorder latencyRecorder;
 
-    public WeaveDebuggerClientListener(XDebugSession session, VirtualFile file)
+    public WeaveDebuggerClientListener(XDebugSession session, VirtualFile file, DebuggerLatencyRecorder latencyRecorder)
     {
         this.session = session;
         this.file = file;
+        this.latencyRecorder = latencyRecorder;
     }
 
     @Override
     public void onFrame(DebuggerClient client, OnFrameEvent frame)
     {
-        session.positionReached(new WeaveSuspendContext(client, frame, session, file));
+        final long start = latencyRecorder.eventReceived();
+        session.positionReached(new WeaveSuspendContext(client, frame, session, file, latencyRecorder));
+        latencyRecorder.record(DebuggerLatencyRecorder.Phase.SUSPEND_CONTEXT, start, null);
     }
 
 
@@ -5,12 +5,14 @@ import com.intellij.execution.ExecutionResult;
 import com.intellij.execution.configurations.RunProfile;
 import com.intellij.execution.configurations.RunProfileState;
 import com.intellij.execution.executors.DefaultDebugExecutor;
+import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.runners.DefaultProgramRunner;
 import com.intellij.execution.runners.ExecutionEnvironment;
 import com.intellij.execution.ui.RunContentDescriptor;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.xdebugger.XDebugProcess;
 import com.intellij.xdebugger.XDebugProcessStarter;
 import com.intellij.xdebugger.XDebugSession;
@@ -20,9 +22,12 @@ import com.mulesoft.weave.engine.debugger.client.tcp.TcpClientDebuggerProtocol;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 import org.mule.tooling.lang.dw.launcher.configuration.WeaveConfiguration;
 import org.mule.tooling.lang.dw.launcher.configuration.runner.WeaveRunnerCommandLine;
 
+import java.util.concurrent.TimeUnit;
+
 public class WeaveDebuggerRunner extends DefaultProgramRunner
 {
 
@@ -71,50 +76,66 @@ public class WeaveDebuggerRunner extends DefaultProgramRunner
                 final String path = project.getBasePath();
                 final String relativePath = weaveFile.substring(path.length());
                 final VirtualFile fileByRelativePath = projectFile.findFileByRelativePath(relativePath);
-                final DebuggerClient localhost = new DebuggerClient(new WeaveDebuggerClientListener(session, fileByRelativePath), new TcpClientDebuggerProtocol("localhost", 6565));
+                final DebuggerLatencyRecorder latencyRecorder = new DebuggerLatencyRecorder();
+                final DebuggerClient localhost = new DebuggerClient(new WeaveDebuggerClientListener(session, fileByRelativePath, latencyRecorder), new TcpClientDebuggerProtocol("localhost", 6565));
                 final ExecutionResult result = state.execute(env.getExecutor(), WeaveDebuggerRunner.this);
-                new DebuggerConnector(localhost).start();
-                return new WeaveDebugProcess(session, localhost, result);
+                new DebuggerConnector(localhost, result.getProcessHandler()).start();
+                return new WeaveDebugProcess(session, localhost, result, latencyRecorder);
             }
         }).getRunContentDescriptor();
 
     }
 
-    private static class DebuggerConnector extends Thread
+    /**
+     * Connects to the weave debugger as soon as the process opens its port. Tries are scheduled with an exponential
+     * backoff, starting at a few milliseconds, so no thread sleeps while the process starts up.
+     */
+    private static class DebuggerConnector implements Runnable
     {
+        private static final long INITIAL_DELAY = 50;
+        private static final long MAX_DELAY = 1000;
+        private static final long TIMEOUT = 50 * 1000;
+
         private final DebuggerClient localhost;
+        private final ProcessHandler processHandler;
+        private final long deadline = System.currentTimeMillis() + TIMEOUT;
+        private long delay = INITIAL_DELAY;
 
-        public DebuggerConnector(DebuggerClient localhost)
+        public DebuggerConnector(DebuggerClient localhost, ProcessHandler processHandler)
         {
             this.localhost = localhost;
+            this.processHandler = processHandler;
+        }
+
+        public void start()
+        {
+            schedule();
+        }
+
+        private void schedule()
+        {
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(this, delay, TimeUnit.MILLISECONDS);
+            delay = Math.min(delay * 2, MAX_DELAY);
         }
 
         @Override
         public void run()
         {
-            int i = 0;
-            while (i < 50)
+            if (processHandler.isProcessTerminated())
             {
-                try
-                {
-                    System.out.println("Trying to connect " + i);
-                    localhost.connect();
-                    System.out.println("Weave connected");
-                    return;
-                }
-                catch (Exception e)
+                return;
+            }
+            try
+            {
+                localhost.connect();
+            }
+            catch (Exception e)
+            {
+                if (System.currentTimeMillis() < deadline)
                 {
-                    try
-                    {
-                        Thread.sleep(1000);
-                    }
-                    catch (InterruptedException e1)
-                    {
-                        return;
-                    }
-                    i++;
+                    schedule();
                 }
             }
         }
     }
-}
\ No newline at end of file
+}
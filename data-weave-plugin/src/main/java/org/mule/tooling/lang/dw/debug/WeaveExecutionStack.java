@@ -9,6 +9,7 @@ import com.mulesoft.weave.engine.debugger.DebuggerFrame;
 import com.mulesoft.weave.engine.debugger.client.DebuggerClient;
 import com.mulesoft.weave.engine.debugger.server.event.OnFrameEvent;
 import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -20,7 +21,7 @@ public class WeaveExecutionStack extends XExecutionStack
 
     private List<XStackFrame> frames;
 
-    protected WeaveExecutionStack(DebuggerClient client, OnFrameEvent onFrameEvent, String displayName, XDebugSession session, VirtualFile file)
+    protected WeaveExecutionStack(DebuggerClient client, OnFrameEvent onFrameEvent, String displayName, XDebugSession session, VirtualFile file, DebuggerLatencyRecorder latencyRecorder)
     {
         super(displayName, AllIcons.Debugger.ThreadSuspended);
         final DebuggerFrame[] frames = onFrameEvent.frames();
@@ -30,11 +31,11 @@ public class WeaveExecutionStack extends XExecutionStack
             final DebuggerFrame debuggerFrame = frames[i];
             if (i == 0)
             {
-                this.frames.add(new WeaveStackFrame(client, onFrameEvent.startPosition(), debuggerFrame, file));
+                this.frames.add(new WeaveStackFrame(client, onFrameEvent.startPosition(), debuggerFrame, file, latencyRecorder, true));
             }
             else
             {
-                this.frames.add(new WeaveStackFrame(client, frames[i - 1].startPosition(), debuggerFrame, file));
+                this.frames.add(new WeaveStackFrame(client, frames[i - 1].startPosition(), debuggerFrame, file, latencyRecorder, false));
             }
         }
     }
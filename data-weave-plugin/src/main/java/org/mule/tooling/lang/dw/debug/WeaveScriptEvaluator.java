@@ -7,6 +7,7 @@ import com.mulesoft.weave.engine.debugger.client.ScriptEvaluationListener;
 import com.mulesoft.weave.engine.debugger.server.event.ScriptResultEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 import org.mule.tooling.lang.dw.debug.value.WeaveValueFactory;
 
 public class WeaveScriptEvaluator extends XDebuggerEvaluator
@@ -14,26 +15,30 @@ public class WeaveScriptEvaluator extends XDebuggerEvaluator
 
     private DebuggerClient client;
     private int frameId;
+    private final DebuggerLatencyRecorder latencyRecorder;
 
-    public WeaveScriptEvaluator(@NotNull DebuggerClient client)
+    public WeaveScriptEvaluator(@NotNull DebuggerClient client, @NotNull DebuggerLatencyRecorder latencyRecorder)
     {
-        this(client, -1);
+        this(client, -1, latencyRecorder);
     }
 
-    public WeaveScriptEvaluator(@NotNull DebuggerClient client, int frameId)
+    public WeaveScriptEvaluator(@NotNull DebuggerClient client, int frameId, @NotNull DebuggerLatencyRecorder latencyRecorder)
     {
         this.client = client;
         this.frameId = frameId;
+        this.latencyRecorder = latencyRecorder;
     }
 
     @Override
-    public void evaluate(@NotNull String script, @NotNull final XEvaluationCallback xEvaluationCallback, @Nullable XSourcePosition xSourcePosition)
+    public void evaluate(@NotNull final String script, @NotNull final XEvaluationCallback xEvaluationCallback, @Nullable XSourcePosition xSourcePosition)
     {
+        final long start = System.nanoTime();
         client.evaluateScript(frameId, script, new ScriptEvaluationListener()
         {
             @Override
             public void onScriptEvaluated(DebuggerClient client, ScriptResultEvent sr)
             {
+                latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVALUATION, start, script);
                 xEvaluationCallback.evaluated(WeaveValueFactory.create(sr.result()));
             }
         });
@@ -14,6 +14,7 @@ import com.mulesoft.weave.engine.debugger.DebuggerValue;
 import com.mulesoft.weave.engine.debugger.client.DebuggerClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 import org.mule.tooling.lang.dw.debug.value.WeaveValueFactory;
 import scala.Tuple2;
 
@@ -23,12 +24,19 @@ public class WeaveStackFrame extends XStackFrame
     private DebuggerClient client;
     private final DebuggerFrame frame;
     private final XSourcePositionImpl xSourcePosition;
+    private final DebuggerLatencyRecorder latencyRecorder;
+    //Only the frame the session stopped at is shown on suspend, the latency of the others is not measured
+    private final boolean topFrame;
+    private final long created = System.nanoTime();
+    private boolean childrenComputed;
 
-    public WeaveStackFrame(DebuggerClient client, DebuggerPosition debuggerPosition, DebuggerFrame frame, VirtualFile weaveFile)
+    public WeaveStackFrame(DebuggerClient client, DebuggerPosition debuggerPosition, DebuggerFrame frame, VirtualFile weaveFile, DebuggerLatencyRecorder latencyRecorder, boolean topFrame)
     {
         this.client = client;
         this.frame = frame;
         this.xSourcePosition = XSourcePositionImpl.create(weaveFile, debuggerPosition.line() - 1);
+        this.latencyRecorder = latencyRecorder;
+        this.topFrame = topFrame;
     }
 
     @Nullable
@@ -43,7 +51,7 @@ public class WeaveStackFrame extends XStackFrame
     @Override
     public XDebuggerEvaluator getEvaluator()
     {
-        return new WeaveScriptEvaluator(client, frame.id());
+        return new WeaveScriptEvaluator(client, frame.id(), latencyRecorder);
     }
 
     @Override
@@ -62,6 +70,12 @@ public class WeaveStackFrame extends XStackFrame
             children.add(value._1, WeaveValueFactory.create(value._2));
         }
         node.addChildren(children, true);
+        if (topFrame && !childrenComputed)
+        {
+            //Time from the frame being created until the variables view shows its values
+            childrenComputed = true;
+            latencyRecorder.record(DebuggerLatencyRecorder.Phase.FIRST_CHILDREN, created, null);
+        }
     }
 
 }
@@ -7,6 +7,7 @@ import com.intellij.xdebugger.frame.XExecutionStack;
 import com.intellij.xdebugger.frame.XSuspendContext;
 import com.mulesoft.weave.engine.debugger.client.DebuggerClient;
 import com.mulesoft.weave.engine.debugger.server.event.OnFrameEvent;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 public class WeaveSuspendContext extends XSuspendContext
 {
@@ -15,10 +16,10 @@ public class WeaveSuspendContext extends XSuspendContext
 
     private WeaveExecutionStack weaveExecutionStack;
 
-    public WeaveSuspendContext(DebuggerClient client, OnFrameEvent frame, XDebugSession session, VirtualFile file)
+    public WeaveSuspendContext(DebuggerClient client, OnFrameEvent frame, XDebugSession session, VirtualFile file, DebuggerLatencyRecorder latencyRecorder)
     {
 
-        weaveExecutionStack = new WeaveExecutionStack(client, frame, WEAVE_STACK, session, file);
+        weaveExecutionStack = new WeaveExecutionStack(client, frame, WEAVE_STACK, session, file, latencyRecorder);
     }
 
     @Override
@@ -0,0 +1,218 @@
+package org.mule.tooling.lang.dw.debug.latency;
+
+import com.intellij.execution.ui.RunnerLayoutUi;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.AnActionButton;
+import com.intellij.ui.ToolbarDecorator;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The debugger tab that shows the statistics of every phase recorded by a {@link DebuggerLatencyRecorder}, with
+ * actions to export the samples as CSV and to clear them.
+ */
+public class DebuggerLatencyPanel extends JPanel
+{
+    private static final String CONTENT_ID = "DebuggerLatency";
+
+    private final Project project;
+    private final DebuggerLatencyRecorder recorder;
+    private final ListTableModel<PhaseStatistics> model;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    public DebuggerLatencyPanel(@NotNull Project project, @NotNull DebuggerLatencyRecorder recorder)
+    {
+        super(new BorderLayout());
+        this.project = project;
+        this.recorder = recorder;
+        this.model = new ListTableModel<>(PHASE, COUNT, LAST, MEAN, PERCENTILE_95, MAX);
+        final TableView<PhaseStatistics> table = new TableView<>(model);
+        table.getEmptyText().setText("No step was timed yet.");
+        table.setShowGrid(false);
+        table.setShowHorizontalLines(false);
+        table.setShowVerticalLines(false);
+
+        final AnActionButton exportAction = new AnActionButton("Export to CSV", AllIcons.ToolbarDecorator.Export)
+        {
+            @Override
+            public void actionPerformed(AnActionEvent e)
+            {
+                exportCsv();
+            }
+        };
+        final AnActionButton clearAction = new AnActionButton("Clear", AllIcons.Actions.GC)
+        {
+            @Override
+            public void actionPerformed(AnActionEvent e)
+            {
+                DebuggerLatencyPanel.this.recorder.clear();
+            }
+        };
+        add(ToolbarDecorator.createDecorator(table)
+                            .disableAddAction()
+                            .disableRemoveAction()
+                            .disableUpDownActions()
+                            .addExtraAction(exportAction)
+                            .addExtraAction(clearAction)
+                            .createPanel(), BorderLayout.CENTER);
+
+        recorder.addChangeListener(this::scheduleRefresh);
+        refresh();
+    }
+
+    /**
+     * Adds the latency tab of the given recorder to a debugger session UI.
+     */
+    public static void addTab(@NotNull RunnerLayoutUi ui, @NotNull Project project, @NotNull DebuggerLatencyRecorder recorder)
+    {
+        final DebuggerLatencyPanel panel = new DebuggerLatencyPanel(project, recorder);
+        final Content content = ui.createContent(CONTENT_ID, panel, "Latency", AllIcons.Debugger.Value, null);
+        content.setCloseable(false);
+        ui.addContent(content);
+    }
+
+    private void scheduleRefresh()
+    {
+        //Samples arrive in bursts on every step, the table is rebuilt once per burst
+        if (refreshPending.compareAndSet(false, true))
+        {
+            ApplicationManager.getApplication().invokeLater(() -> {
+                refreshPending.set(false);
+                refresh();
+            });
+        }
+    }
+
+    private void refresh()
+    {
+        final Map<DebuggerLatencyRecorder.Phase, List<DebuggerLatencyRecorder.Sample>> byPhase = new EnumMap<>(DebuggerLatencyRecorder.Phase.class);
+        for (DebuggerLatencyRecorder.Sample sample : recorder.getSamples())
+        {
+            byPhase.computeIfAbsent(sample.getPhase(), phase -> new ArrayList<>()).add(sample);
+        }
+        final List<PhaseStatistics> rows = new ArrayList<>();
+        for (Map.Entry<DebuggerLatencyRecorder.Phase, List<DebuggerLatencyRecorder.Sample>> entry : byPhase.entrySet())
+        {
+            rows.add(new PhaseStatistics(entry.getKey(), entry.getValue()));
+        }
+        model.setItems(rows);
+    }
+
+    private void exportCsv()
+    {
+        final FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Debugger Timings", "Saves every recorded timing as CSV", "csv");
+        final VirtualFileWrapper target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save(null, "debugger-timings.csv");
+        if (target == null)
+        {
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(target.getFile()), StandardCharsets.UTF_8))
+        {
+            recorder.writeCsv(writer);
+        }
+        catch (IOException e)
+        {
+            Messages.showErrorDialog(project, "Unable to export the timings: " + e.getMessage(), "Export Debugger Timings");
+        }
+    }
+
+    private static class PhaseStatistics
+    {
+        private final DebuggerLatencyRecorder.Phase phase;
+        private final int count;
+        private final long last;
+        private final long mean;
+        private final long percentile95;
+        private final long max;
+
+        private PhaseStatistics(DebuggerLatencyRecorder.Phase phase, List<DebuggerLatencyRecorder.Sample> samples)
+        {
+            this.phase = phase;
+            this.count = samples.size();
+            this.last = samples.get(samples.size() - 1).getDurationNanos();
+            final long[] durations = new long[samples.size()];
+            long total = 0;
+            for (int i = 0; i < durations.length; i++)
+            {
+                durations[i] = samples.get(i).getDurationNanos();
+                total += durations[i];
+            }
+            Arrays.sort(durations);
+            this.mean = total / durations.length;
+            this.percentile95 = durations[(int) Math.ceil(durations.length * 0.95) - 1];
+            this.max = durations[durations.length - 1];
+        }
+    }
+
+    private static final ColumnInfo<PhaseStatistics, String> PHASE = new ColumnInfo<PhaseStatistics, String>("Phase")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return object.phase.toString();
+        }
+    };
+
+    private static final ColumnInfo<PhaseStatistics, String> COUNT = new ColumnInfo<PhaseStatistics, String>("Count")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return String.valueOf(object.count);
+        }
+    };
+
+    private static final ColumnInfo<PhaseStatistics, String> LAST = new ColumnInfo<PhaseStatistics, String>("Last (ms)")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return DebuggerLatencyRecorder.toMillis(object.last);
+        }
+    };
+
+    private static final ColumnInfo<PhaseStatistics, String> MEAN = new ColumnInfo<PhaseStatistics, String>("Mean (ms)")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return DebuggerLatencyRecorder.toMillis(object.mean);
+        }
+    };
+
+    private static final ColumnInfo<PhaseStatistics, String> PERCENTILE_95 = new ColumnInfo<PhaseStatistics, String>("95th (ms)")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return DebuggerLatencyRecorder.toMillis(object.percentile95);
+        }
+    };
+
+    private static final ColumnInfo<PhaseStatistics, String> MAX = new ColumnInfo<PhaseStatistics, String>("Max (ms)")
+    {
+        public String valueOf(PhaseStatistics object)
+        {
+            return DebuggerLatencyRecorder.toMillis(object.max);
+        }
+    };
+}
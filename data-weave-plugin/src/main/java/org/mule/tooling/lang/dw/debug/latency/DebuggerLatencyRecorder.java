@@ -0,0 +1,210 @@
+package org.mule.tooling.lang.dw.debug.latency;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records how long each phase of a debugger step takes during one debug session, so slow stepping can be told apart
+ * between the runtime, the dispatching, the PSI and the tree. Only the last {@link #MAX_SAMPLES} samples are kept.
+ */
+public class DebuggerLatencyRecorder
+{
+    private static final int MAX_SAMPLES = 10000;
+
+    public enum Phase
+    {
+        /**
+         * From a step request to the event of the position it reached, the runtime and the socket.
+         */
+        STEP("Step to event"),
+        /**
+         * From the receipt of an event to its listeners being called.
+         */
+        EVENT_DISPATCH("Event dispatch"),
+        /**
+         * Resolving the processor path of an event to its tag.
+         */
+        PATH_RESOLUTION("Path to PSI"),
+        /**
+         * Building the suspend context and handing it to the debugger session.
+         */
+        SUSPEND_CONTEXT("Suspend context"),
+        /**
+         * From the creation of a frame to its children being computed the first time.
+         */
+        FIRST_CHILDREN("First children"),
+        /**
+         * From an evaluation request to its result.
+         */
+        EVALUATION("Evaluation round trip");
+
+        private final String displayName;
+
+        Phase(String displayName)
+        {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString()
+        {
+            return displayName;
+        }
+    }
+
+    public static class Sample
+    {
+        private final long timestamp;
+        private final Phase phase;
+        private final long durationNanos;
+        private final String detail;
+
+        private Sample(long timestamp, Phase phase, long durationNanos, @Nullable String detail)
+        {
+            this.timestamp = timestamp;
+            this.phase = phase;
+            this.durationNanos = durationNanos;
+            this.detail = detail;
+        }
+
+        public long getTimestamp()
+        {
+            return timestamp;
+        }
+
+        public Phase getPhase()
+        {
+            return phase;
+        }
+
+        public long getDurationNanos()
+        {
+            return durationNanos;
+        }
+
+        @Nullable
+        public String getDetail()
+        {
+            return detail;
+        }
+    }
+
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile long stepRequested;
+
+    /**
+     * To be called when a step is requested, the next event then records the {@link Phase#STEP} phase.
+     */
+    public void stepRequested()
+    {
+        stepRequested = System.nanoTime();
+    }
+
+    /**
+     * To be called on resume, the time until the next breakpoint is not a step latency.
+     */
+    public void resumed()
+    {
+        stepRequested = 0;
+    }
+
+    /**
+     * To be called when the runtime reports a position. Returns the receipt time, to measure the phases that follow.
+     */
+    public long eventReceived()
+    {
+        final long now = System.nanoTime();
+        final long requested = stepRequested;
+        if (requested != 0)
+        {
+            stepRequested = 0;
+            add(Phase.STEP, now - requested, null);
+        }
+        return now;
+    }
+
+    /**
+     * Records the time from the given {@link System#nanoTime()} to now as a sample of the phase.
+     */
+    public void record(@NotNull Phase phase, long startNanos, @Nullable String detail)
+    {
+        add(phase, System.nanoTime() - startNanos, detail);
+    }
+
+    @NotNull
+    public synchronized List<Sample> getSamples()
+    {
+        return new ArrayList<>(samples);
+    }
+
+    public void clear()
+    {
+        synchronized (this)
+        {
+            samples.clear();
+        }
+        fireChanged();
+    }
+
+    public void addChangeListener(@NotNull Runnable listener)
+    {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Writes every sample as a CSV line: the time it was taken, the phase, the duration in milliseconds and the detail.
+     */
+    public void writeCsv(@NotNull Writer writer) throws IOException
+    {
+        writer.write("timestamp,phase,duration_ms,detail\n");
+        for (Sample sample : getSamples())
+        {
+            writer.write(sample.getTimestamp() + "," + sample.getPhase().name() + "," + toMillis(sample.getDurationNanos()) + "," + escape(sample.getDetail()) + "\n");
+        }
+    }
+
+    public static String toMillis(long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000000d);
+    }
+
+    private void add(Phase phase, long durationNanos, @Nullable String detail)
+    {
+        synchronized (this)
+        {
+            if (samples.size() == MAX_SAMPLES)
+            {
+                samples.removeFirst();
+            }
+            samples.addLast(new Sample(System.currentTimeMillis(), phase, durationNanos, detail));
+        }
+        fireChanged();
+    }
+
+    private void fireChanged()
+    {
+        for (Runnable listener : changeListeners)
+        {
+            listener.run();
+        }
+    }
+
+    private static String escape(@Nullable String value)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
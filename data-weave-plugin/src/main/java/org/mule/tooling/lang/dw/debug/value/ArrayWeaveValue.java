@@ -14,6 +14,8 @@ public class ArrayWeaveValue extends XValue
 {
 
     private ArrayDebuggerValue debuggerValue;
+    private XCompositeNode childrenNode;
+    private int childrenShown;
 
     public ArrayWeaveValue(ArrayDebuggerValue debuggerValue)
     {
@@ -29,19 +31,28 @@ public class ArrayWeaveValue extends XValue
     @Override
     public void computeChildren(@NotNull XCompositeNode node)
     {
+        if (node != childrenNode)
+        {
+            childrenNode = node;
+            childrenShown = 0;
+        }
         final XValueChildrenList list = new XValueChildrenList();
         final DebuggerValue[] innerElements = debuggerValue.values();
-        int i = 0;
-        for (DebuggerValue innerElement : innerElements)
+        final int end = Math.min(childrenShown + WeaveValueFactory.CHILDREN_PAGE_SIZE, innerElements.length);
+        for (int i = childrenShown; i < end; i++)
         {
-            final XValue value = WeaveValueFactory.create(innerElement);
+            final XValue value = WeaveValueFactory.create(innerElements[i]);
             if (value != null)
             {
                 list.add("[" + i + "]", value);
             }
-            i++;
         }
-        node.addChildren(list, false);
-        super.computeChildren(node);
+        childrenShown = end;
+        final int remaining = innerElements.length - end;
+        node.addChildren(list, remaining == 0);
+        if (remaining > 0)
+        {
+            node.tooManyChildren(remaining);
+        }
     }
 }
@@ -14,6 +14,8 @@ public class ObjectWeaveValue extends XValue
 {
 
     private ObjectDebuggerValue debuggerValue;
+    private XCompositeNode childrenNode;
+    private int childrenShown;
 
     public ObjectWeaveValue(ObjectDebuggerValue debuggerValue)
     {
@@ -23,23 +25,35 @@ public class ObjectWeaveValue extends XValue
     @Override
     public void computePresentation(@NotNull XValueNode xValueNode, @NotNull XValuePlace xValuePlace)
     {
-        xValueNode.setPresentation(PlatformIcons.VARIABLE_ICON, "Object", "length " + debuggerValue.fields().length + "'", true);
+        xValueNode.setPresentation(PlatformIcons.VARIABLE_ICON, "Object", "length : " + debuggerValue.fields().length, true);
     }
 
     @Override
     public void computeChildren(@NotNull XCompositeNode node)
     {
+        if (node != childrenNode)
+        {
+            childrenNode = node;
+            childrenShown = 0;
+        }
         final XValueChildrenList list = new XValueChildrenList();
         final FieldDebuggerValue[] innerElements = debuggerValue.fields();
-        for (FieldDebuggerValue innerElement : innerElements)
+        final int end = Math.min(childrenShown + WeaveValueFactory.CHILDREN_PAGE_SIZE, innerElements.length);
+        for (int i = childrenShown; i < end; i++)
         {
+            final FieldDebuggerValue innerElement = innerElements[i];
             final XValue value = innerElement.key().attr().length > 0 ? WeaveValueFactory.create(innerElement) : WeaveValueFactory.create(innerElement.value());
             if (value != null)
             {
                 list.add(innerElement.key().name(), value);
             }
         }
-        node.addChildren(list, false);
-        super.computeChildren(node);
+        childrenShown = end;
+        final int remaining = innerElements.length - end;
+        node.addChildren(list, remaining == 0);
+        if (remaining > 0)
+        {
+            node.tooManyChildren(remaining);
+        }
     }
 }
@@ -13,6 +13,10 @@ import com.mulesoft.weave.engine.debugger.SimpleDebuggerValue;
 public class WeaveValueFactory
 {
 
+    /**
+     * Arrays and objects show this many children at a time, the rest are added on demand through "more".
+     */
+    public static final int CHILDREN_PAGE_SIZE = 100;
 
     public static XValue create(DebuggerValue value)
     {
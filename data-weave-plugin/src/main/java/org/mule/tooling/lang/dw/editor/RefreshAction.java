@@ -2,16 +2,12 @@ package org.mule.tooling.lang.dw.editor;
 
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
-import com.intellij.openapi.actionSystem.CommonDataKeys;
-import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory;
-import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.IconLoader;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiFile;
 
 import javax.swing.*;
 
@@ -34,19 +30,7 @@ public class RefreshAction extends AnAction {
     @Override
     public void actionPerformed(AnActionEvent anActionEvent) {
         logger.debug("Refreshing!");
-        final Project project = anActionEvent.getProject();
-        final PsiFile psiFile = anActionEvent.getData(CommonDataKeys.PSI_FILE);
-        try {
-            new WriteCommandAction.Simple(project, psiFile) {
-                @Override
-                protected void run() throws Throwable {
-                    editor.runPreview(true);
-                }
-            }.execute();
-        } catch (Exception e) {
-            logger.error(e);
-        }
-
+        editor.runPreview(true);
     }
 
 }
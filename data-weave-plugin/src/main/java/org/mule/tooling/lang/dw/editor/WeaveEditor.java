@@ -5,6 +5,8 @@ import com.intellij.icons.AllIcons;
 import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.lang.Language;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
@@ -26,6 +28,7 @@ import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ThrowableComputable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.FileTypeIndex;
@@ -41,6 +44,7 @@ import com.intellij.ui.tabs.TabInfo;
 import com.intellij.ui.tabs.impl.JBTabsImpl;
 import com.intellij.util.Alarm;
 import com.intellij.util.FileContentUtilCore;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.xml.DomManager;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -48,6 +52,7 @@ import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.lang.dw.WeaveFile;
 import org.mule.tooling.lang.dw.WeaveFileType;
 import org.mule.tooling.lang.dw.parser.psi.*;
+import org.mule.tooling.lang.dw.util.ClasspathUtils;
 import org.mule.tooling.lang.dw.util.WeaveUtils;
 
 import javax.swing.*;
@@ -55,6 +60,8 @@ import java.awt.*;
 import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Created by eberman on 11/3/16.
@@ -83,11 +90,19 @@ public class WeaveEditor implements FileEditor {
     private final static Key<CachedValue<List<String>>> MEL_STRINGS_KEY = Key.create("MEL Strings");
 
     private final static long PREVIEW_DELAY = 500;
+    private final static long PREVIEW_TIMEOUT = 30;
 
     Alarm myDocumentAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
 
     private boolean autoSync = false;
 
+    //Only the latest preview may write its output, older ones are ignored
+    private final AtomicLong previewGeneration = new AtomicLong();
+    //One preview runs at a time, the inputs of the latest edit meanwhile wait for it to end. Both are used on the EDT only.
+    private Thread runningPreview;
+    private Runnable pendingPreview;
+    private boolean disposed;
+
     public WeaveEditor(@NotNull Project project, @NotNull VirtualFile virtualFile, final TextEditorProvider provider) {
         this.project = project;
         this.textEditor = new PsiAwareTextEditorImpl(project, virtualFile, provider);
@@ -194,17 +209,7 @@ public class WeaveEditor implements FileEditor {
                     myDocumentAlarm.addRequest(new Runnable() {
                         @Override
                         public void run() {
-                            try {
-                                new WriteCommandAction.Simple(project, psiFile) {
-                                    @Override
-                                    protected void run() throws Throwable {
-                                        runPreview(false);
-                                    }
-                                }.execute();
-                            } catch (Exception e) {
-                                logger.error(e);
-                            }
-
+                            runPreview(false);
                         }
                     }, PREVIEW_DELAY);
                 }
@@ -287,6 +292,8 @@ public class WeaveEditor implements FileEditor {
 
     @Override
     public void dispose() {
+        disposed = true;
+        cancelPreview();
         for (Editor editor : editors.values()) {
             EditorFactory.getInstance().releaseEditor(editor);
         }
@@ -336,16 +343,7 @@ public class WeaveEditor implements FileEditor {
                     myDocumentAlarm.addRequest(new Runnable() {
                         @Override
                         public void run() {
-                            try {
-                                new WriteCommandAction.Simple(project, psiFile) {
-                                    @Override
-                                    protected void run() throws Throwable {
-                                        runPreview(false);
-                                    }
-                                }.execute();
-                            } catch (Exception e) {
-                                logger.error(e);
-                            }
+                            runPreview(false);
                         }
                     }, PREVIEW_DELAY);
                 }
@@ -460,7 +458,7 @@ public class WeaveEditor implements FileEditor {
             return;
 
         final Map<String, Object> payload = new HashMap<String, Object>();
-        Map<String, Map<String, Object>> flowVars = new HashMap<String, Map<String, Object>>();
+        final Map<String, Map<String, Object>> flowVars = new HashMap<String, Map<String, Object>>();
         /*
         1. Get input from tabs - if payload exists, use payload, otherwise put in the Map
         2. Get text from DW
@@ -484,13 +482,88 @@ public class WeaveEditor implements FileEditor {
         }
 
         final CachedValuesManager manager = CachedValuesManager.getManager(project);
-        List<String> melFunctions = manager.getCachedValue(psiFile, MEL_STRINGS_KEY, new MelStringsCachedProvider());
+        final List<String> melFunctions = manager.getCachedValue(psiFile, MEL_STRINGS_KEY, new MelStringsCachedProvider());
+
+        final String dwScript = this.textEditor.getEditor().getDocument().getText();
+
+        final Runnable preview = () -> startPreview(dwScript, payload, flowVars, melFunctions);
+        if (runningPreview != null) {
+            //The output of the running one is out of date already, this one starts when it ends
+            previewGeneration.incrementAndGet();
+            pendingPreview = preview;
+        } else {
+            preview.run();
+        }
+    }
 
-        String dwScript = this.textEditor.getEditor().getDocument().getText();
+    /**
+     * Runs the transformation in the background. The inputs are captured on the EDT before.
+     */
+    private void startPreview(String dwScript, Map<String, Object> payload, Map<String, Map<String, Object>> flowVars, List<String> melFunctions) {
+        //The class loader is resolved from the project model, so it is done here in a read action as well
+        final ClasspathUtils.ModuleClassLoader classLoader;
+        try {
+            classLoader = ApplicationManager.getApplication().runReadAction((ThrowableComputable<ClasspathUtils.ModuleClassLoader, Exception>) () ->
+                    ClasspathUtils.acquireModuleClassLoader(module, WeavePreview.class.getClassLoader()));
+        } catch (Exception e) {
+            logger.debug(e);
+            showPreviewOutput(previewGeneration.incrementAndGet(), e.getMessage());
+            return;
+        }
 
-        String output = WeavePreview.runPreview(module, dwScript, payload, flowVars, flowVars, flowVars, flowVars, flowVars, melFunctions);
-        if (output != null)
-            editors.get("output").getDocument().setText(output);
+        //A script can not be stopped while it runs, so it gets its own thread instead of a pool one, which a runaway
+        //script would keep forever. No other preview starts before it ends.
+        final long generation = previewGeneration.incrementAndGet();
+        final Thread preview = new Thread(() -> {
+            try {
+                final String output = WeavePreview.runPreview(classLoader.getClassLoader(), dwScript, payload, flowVars, flowVars, flowVars, flowVars, flowVars, melFunctions);
+                showPreviewOutput(generation, output);
+            } finally {
+                classLoader.release();
+                ApplicationManager.getApplication().invokeLater(this::previewEnded, ModalityState.any());
+            }
+        }, "DataWeave Preview");
+        preview.setDaemon(true);
+        runningPreview = preview;
+        preview.start();
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+            //Moves to the next generation, so the output of the run never replaces the message if it ends after all
+            if (preview.isAlive() && previewGeneration.compareAndSet(generation, generation + 1)) {
+                showPreviewOutput(generation + 1, "Preview timed out after " + PREVIEW_TIMEOUT + " seconds, the next preview starts when it ends");
+            }
+        }, PREVIEW_TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts the preview of the latest edit made while the previous one was running, if any.
+     */
+    private void previewEnded() {
+        runningPreview = null;
+        final Runnable next = pendingPreview;
+        pendingPreview = null;
+        if (next != null && !disposed)
+            next.run();
+    }
+
+    /**
+     * Drops the preview waiting to start, and hides the output of the running one.
+     */
+    private void cancelPreview() {
+        previewGeneration.incrementAndGet();
+        pendingPreview = null;
+    }
+
+    private void showPreviewOutput(final long generation, @Nullable final String output) {
+        if (output == null)
+            return;
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (generation != previewGeneration.get())
+                return;
+            final Editor outputEditor = editors.get("output");
+            if (outputEditor != null) {
+                WriteCommandAction.runWriteCommandAction(project, () -> outputEditor.getDocument().setText(output));
+            }
+        }, ModalityState.defaultModalityState(), project.getDisposed());
     }
 
     public Project getProject() {
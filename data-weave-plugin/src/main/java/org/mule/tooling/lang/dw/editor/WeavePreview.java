@@ -1,9 +1,7 @@
 package org.mule.tooling.lang.dw.editor;
 
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.module.Module;
 import com.mulesoft.weave.lang.PreviewRunner;
-import org.mule.tooling.lang.dw.util.ClasspathUtils;
 
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -19,12 +17,13 @@ public class WeavePreview {
 
     /**
      *
+     * @param weaveClassLoader Class loader over the module classpath, see {@link org.mule.tooling.lang.dw.util.ClasspathUtils#acquireModuleClassLoader}
      * @param dwDocument DW Script to run
      * @param payload Key: Content-Type ; Value: payload String
      * @param flowVars Key: Name; Value: Map of Key Content-Type ; Value: variable String. Other params are the same structure
      * @return Key: Content-Type ; Value: mapped payload String
      */
-    public static String runPreview(Module module,
+    public static String runPreview(ClassLoader weaveClassLoader,
                                     String dwDocument,
                                     Map<String, Object> payload,
                                     Map<String, Map<String, Object>> flowVars,
@@ -40,7 +39,6 @@ public class WeavePreview {
         final ClassLoader old = currentThread.getContextClassLoader();
 
         try {
-            ClassLoader weaveClassLoader = ClasspathUtils.getModuleClassLoader(module, WeavePreview.class.getClassLoader());
             currentThread.setContextClassLoader(weaveClassLoader);
             /*
             Class<?> clazz = weaveClassLoader.loadClass("com.mulesoft.weave.lang.PreviewRunner");
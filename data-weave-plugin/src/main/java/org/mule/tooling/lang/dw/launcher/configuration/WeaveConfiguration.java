@@ -18,6 +18,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.lang.dw.launcher.configuration.runner.WeaveRunnerCommandLine;
 import org.mule.tooling.lang.dw.launcher.configuration.ui.WeaveInput;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 import org.mule.tooling.lang.dw.util.WeaveSdk;
 
 import java.io.File;
@@ -34,6 +35,7 @@ public class WeaveConfiguration extends ModuleBasedConfiguration implements Modu
     public static final String WEAVE_FILE = PREFIX + "WeaveFile";
     public static final String WEAVE_OUTPUT = PREFIX + "WeaveOutput";
     public static final String WEAVE_INPUT = "WeaveInput";
+    public static final String JVM_PROFILE = PREFIX + "JvmProfile";
 
 
     private String weaveHome;
@@ -41,6 +43,7 @@ public class WeaveConfiguration extends ModuleBasedConfiguration implements Modu
     private String weaveFile;
     private String weaveOutput;
     private List<WeaveInput> weaveInputs;
+    private JvmProfile jvmProfile = JvmProfile.DEFAULT;
 
     protected WeaveConfiguration(String name, @NotNull ConfigurationFactory factory, Project project)
     {
@@ -71,6 +74,7 @@ public class WeaveConfiguration extends ModuleBasedConfiguration implements Modu
         this.weaveHome = JDOMExternalizerUtil.readField(element, WEAVE_HOME_FIELD);
         this.weaveFile = JDOMExternalizerUtil.readField(element, WEAVE_FILE);
         this.weaveOutput = JDOMExternalizerUtil.readField(element, WEAVE_OUTPUT);
+        this.jvmProfile = JvmProfile.fromName(JDOMExternalizerUtil.readField(element, JVM_PROFILE));
         final List<Element> children = element.getChildren(WEAVE_INPUT);
         this.weaveInputs = new ArrayList<>();
         for (Element child : children)
@@ -90,6 +94,7 @@ public class WeaveConfiguration extends ModuleBasedConfiguration implements Modu
         JDOMExternalizerUtil.writeField(element, WEAVE_HOME_FIELD, this.getWeaveHome());
         JDOMExternalizerUtil.writeField(element, WEAVE_FILE, this.getWeaveFile());
         JDOMExternalizerUtil.writeField(element, WEAVE_OUTPUT, this.getWeaveOutput());
+        JDOMExternalizerUtil.writeField(element, JVM_PROFILE, this.getJvmProfile().name());
         JDOMExternalizerUtil.addChildren(element, WEAVE_INPUT, weaveInputs);
         getConfigurationModule().writeExternal(element);
     }
@@ -190,4 +195,15 @@ public class WeaveConfiguration extends ModuleBasedConfiguration implements Modu
     {
         this.weaveInputs = weaveInputs;
     }
+
+    @NotNull
+    public JvmProfile getJvmProfile()
+    {
+        return jvmProfile;
+    }
+
+    public void setJvmProfile(@NotNull JvmProfile jvmProfile)
+    {
+        this.jvmProfile = jvmProfile;
+    }
 }
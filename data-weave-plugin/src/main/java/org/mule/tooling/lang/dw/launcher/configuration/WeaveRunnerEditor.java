@@ -5,6 +5,7 @@ import com.intellij.openapi.options.ConfigurationException;
 import com.intellij.openapi.options.SettingsEditor;
 import org.jetbrains.annotations.NotNull;
 import org.mule.tooling.lang.dw.launcher.configuration.ui.WeaveRunnerConfPanel;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 
 import javax.swing.*;
 import java.util.Collection;
@@ -44,6 +45,7 @@ public class WeaveRunnerEditor extends SettingsEditor<WeaveConfiguration>
         this.configurationPanel.getOutput().setText(runnerConfiguration.getWeaveOutput());
         this.configurationPanel.getWeaveHome().setText(runnerConfiguration.getWeaveHome());
         this.configurationPanel.getWeaveInputs().setItems(runnerConfiguration.getWeaveInputs());
+        this.configurationPanel.getJvmProfileCombo().setSelectedItem(runnerConfiguration.getJvmProfile());
     }
 
     /**
@@ -64,6 +66,8 @@ public class WeaveRunnerEditor extends SettingsEditor<WeaveConfiguration>
             runnerConfiguration.setModule(selectedModule);
         }
         runnerConfiguration.setWeaveInputs(this.configurationPanel.getWeaveInputs().getItems());
+        final Object jvmProfile = this.configurationPanel.getJvmProfileCombo().getSelectedItem();
+        runnerConfiguration.setJvmProfile(jvmProfile instanceof JvmProfile ? (JvmProfile) jvmProfile : JvmProfile.DEFAULT);
     }
 
     @NotNull
@@ -64,16 +64,8 @@ public class WeaveRunnerCommandLine extends JavaCommandLineState
         //Mule main class
         javaParams.setMainClass(MAIN_CLASS);
 
-        //Add default vm parameters
-        javaParams.getVMParametersList().add("-Xms1024m");
-        javaParams.getVMParametersList().add("-Xmx1024m");
-        javaParams.getVMParametersList().add("-XX:PermSize=256m");
-        javaParams.getVMParametersList().add("-XX:MaxPermSize=256m");
-        javaParams.getVMParametersList().add("-XX:+HeapDumpOnOutOfMemoryError");
-        javaParams.getVMParametersList().add("-XX:+AlwaysPreTouch");
-        javaParams.getVMParametersList().add("-XX:NewSize=512m");
-        javaParams.getVMParametersList().add("-XX:MaxNewSize=512m");
-        javaParams.getVMParametersList().add("-XX:MaxTenuringThreshold=8");
+        //Add the vm parameters of the selected profile
+        javaParams.getVMParametersList().addAll(model.getJvmProfile().getVmParameters(javaParams.getJdk()));
 
         final List<WeaveInput> weaveInputs = model.getWeaveInputs();
         for (WeaveInput weaveInput : weaveInputs)
@@ -12,6 +12,7 @@ import com.intellij.util.ui.ColumnInfo;
 import com.intellij.util.ui.ListTableModel;
 import org.jetbrains.annotations.NotNull;
 import org.mule.tooling.lang.dw.WeaveFileType;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 
 import javax.swing.*;
 import java.awt.*;
@@ -25,6 +26,7 @@ public class WeaveRunnerConfPanel
     private ModulesComboBox moduleCombo;
     private TextFieldWithBrowseButton output;
     private TextFieldWithBrowseButton weaveFile;
+    private JComboBox<JvmProfile> jvmProfileCombo;
     private JPanel inputPanel;
     private TableView<WeaveInput> myInputsTable;
     private Project project;
@@ -52,6 +54,8 @@ public class WeaveRunnerConfPanel
                 });
         getWeaveFile().addBrowseFolderListener("Select DataWeave File", "Select DataWeave File", project, waveDescriptor);
 
+        jvmProfileCombo.setModel(new DefaultComboBoxModel<>(JvmProfile.values()));
+
         myModel = new ListTableModel<>(NAME, FILE);
         myInputsTable = new TableView<>(myModel);
         myInputsTable.getEmptyText().setText("No input data was defined.");
@@ -113,6 +117,11 @@ public class WeaveRunnerConfPanel
         return weaveFile;
     }
 
+    public JComboBox<JvmProfile> getJvmProfileCombo()
+    {
+        return jvmProfileCombo;
+    }
+
 
     private final static ColumnInfo<WeaveInput, String> FILE = new ColumnInfo<WeaveInput, String>("Path")
     {
@@ -4,12 +4,14 @@ import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.CompilerModuleExtension;
 import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Disposer;
 import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
@@ -25,6 +27,7 @@ import com.intellij.psi.xml.XmlTag;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.lang.dw.editor.WeaveEditor;
 
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
@@ -37,7 +40,10 @@ import java.util.Map;
  * Created by eberman on 2/22/17.
  */
 public class ClasspathUtils {
+    private static final Logger LOG = Logger.getInstance(ClasspathUtils.class);
     private static final Key<ParameterizedCachedValue<List<URL>, Module>> URLS_KEY = Key.create("MODULE.URLS");
+    private static final Key<ModuleClassLoader> CLASS_LOADER_KEY = Key.create("MODULE.CLASS.LOADER");
+    private static final Object CLASS_LOADER_LOCK = new Object();
 
     public static ClassLoader getProjectClassLoader(Project project, ClassLoader parent) throws Exception {
         ClassLoader fullClassLoader = null;
@@ -54,14 +60,37 @@ public class ClasspathUtils {
         return fullClassLoader;
     }
 
-    public static ClassLoader getModuleClassLoader(Module module, ClassLoader parent) throws Exception {
-        ClassLoader moduleClassLoader = null;
-
-        List<URL> loaderUrls = getURLsForModule(module);
-
-        moduleClassLoader = new URLClassLoader(loaderUrls.toArray(new URL[] {}), parent);
-
-        return moduleClassLoader;
+    /**
+     * Returns a class loader over the module classpath. The loader is kept in the module and reused until the
+     * classpath changes, so classes loaded (and compiled by the JIT) in a previous run are not loaded again.
+     * Every call must be paired with {@link ModuleClassLoader#release()}: a loader replaced because the project roots
+     * changed is only closed once its last user released it.
+     * Must be called in a read action, the classpath is computed from the project model.
+     */
+    public static ModuleClassLoader acquireModuleClassLoader(Module module, ClassLoader parent) throws Exception {
+        final List<URL> loaderUrls = getURLsForModule(module);
+
+        synchronized (CLASS_LOADER_LOCK) {
+            ModuleClassLoader current = module.getUserData(CLASS_LOADER_KEY);
+            if (current == null || current.urls != loaderUrls || current.classLoader.getParent() != parent) {
+                if (current != null) {
+                    current.retire();
+                } else {
+                    Disposer.register(module, () -> {
+                        synchronized (CLASS_LOADER_LOCK) {
+                            final ModuleClassLoader disposed = module.getUserData(CLASS_LOADER_KEY);
+                            if (disposed != null) {
+                                disposed.retire();
+                            }
+                        }
+                    });
+                }
+                current = new ModuleClassLoader(loaderUrls, new URLClassLoader(loaderUrls.toArray(new URL[] {}), parent));
+                module.putUserData(CLASS_LOADER_KEY, current);
+            }
+            current.users++;
+            return current;
+        }
     }
 
     private static List<URL> getURLsForModule(Module module) throws Exception {
@@ -111,4 +140,47 @@ public class ClasspathUtils {
 
 
     }
+
+    /**
+     * The pooled class loader of a module, with the urls it was created from. The urls list is the instance returned
+     * by {@link UrlsCachedProvider}, so a new instance means that the classpath was recomputed.
+     */
+    public static class ModuleClassLoader {
+        private final List<URL> urls;
+        private final URLClassLoader classLoader;
+        //Guarded by CLASS_LOADER_LOCK
+        private int users;
+        private boolean retired;
+
+        private ModuleClassLoader(List<URL> urls, URLClassLoader classLoader) {
+            this.urls = urls;
+            this.classLoader = classLoader;
+        }
+
+        public ClassLoader getClassLoader() {
+            return classLoader;
+        }
+
+        public void release() {
+            synchronized (CLASS_LOADER_LOCK) {
+                users--;
+                closeIfUnused();
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            closeIfUnused();
+        }
+
+        private void closeIfUnused() {
+            if (retired && users == 0) {
+                try {
+                    classLoader.close();
+                } catch (IOException e) {
+                    LOG.debug(e);
+                }
+            }
+        }
+    }
 }
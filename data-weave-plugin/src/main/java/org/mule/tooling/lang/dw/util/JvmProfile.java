@@ -0,0 +1,172 @@
+package org.mule.tooling.lang.dw.util;
+
+import com.intellij.openapi.projectRoots.JavaSdk;
+import com.intellij.openapi.projectRoots.JavaSdkVersion;
+import com.intellij.openapi.projectRoots.Sdk;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JVM flags a Mule or DataWeave launch starts with. Every flag has the range of JDK versions that accept it, flags
+ * that the JDK of the launch does not support are dropped.
+ */
+public enum JvmProfile
+{
+    /**
+     * The flags the runners always used, a fixed 1 GB heap.
+     */
+    DEFAULT("Default")
+    {
+        @Override
+        protected void addParameters(FlagList parameters)
+        {
+            parameters.add("-Xms1024m");
+            parameters.add("-Xmx1024m");
+            parameters.addBefore("-XX:PermSize=256m", JavaSdkVersion.JDK_1_8);
+            parameters.addBefore("-XX:MaxPermSize=256m", JavaSdkVersion.JDK_1_8);
+            parameters.add("-XX:+HeapDumpOnOutOfMemoryError");
+            parameters.add("-XX:+AlwaysPreTouch");
+            parameters.add("-XX:NewSize=512m");
+            parameters.add("-XX:MaxNewSize=512m");
+            parameters.add("-XX:MaxTenuringThreshold=8");
+        }
+    },
+    /**
+     * Starts as fast as possible: small initial heap, no pretouch, C1 only and the serial collector. The default class
+     * data sharing of the JDK stays on, the Mule runner can add an archive of the Mule classes on top of it.
+     */
+    FAST_START("Fast start")
+    {
+        @Override
+        protected void addParameters(FlagList parameters)
+        {
+            parameters.add("-Xms256m");
+            parameters.add("-Xmx1024m");
+            parameters.addBefore("-XX:MaxPermSize=256m", JavaSdkVersion.JDK_1_8);
+            //Tiered compilation, and so its levels, only exist since 7
+            parameters.addSince("-XX:TieredStopAtLevel=1", JavaSdkVersion.JDK_1_7);
+            parameters.add("-XX:+UseSerialGC");
+            parameters.add("-XX:+HeapDumpOnOutOfMemoryError");
+        }
+    },
+    /**
+     * For big payloads and load tests: G1 with a heap sized from the physical memory of the machine.
+     */
+    THROUGHPUT("Throughput")
+    {
+        @Override
+        protected void addParameters(FlagList parameters)
+        {
+            final long heap = getThroughputHeapSize();
+            parameters.add("-Xms" + heap + "m");
+            parameters.add("-Xmx" + heap + "m");
+            parameters.addBefore("-XX:MaxPermSize=512m", JavaSdkVersion.JDK_1_8);
+            parameters.addSince("-XX:+UseG1GC", JavaSdkVersion.JDK_1_7);
+            parameters.add("-XX:+ParallelRefProcEnabled");
+            parameters.add("-XX:+HeapDumpOnOutOfMemoryError");
+        }
+    };
+
+    private static final long MIN_THROUGHPUT_HEAP = 1024;
+    private static final long MAX_THROUGHPUT_HEAP = 8192;
+
+    private final String displayName;
+
+    JvmProfile(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+    protected abstract void addParameters(FlagList parameters);
+
+    /**
+     * Returns the VM parameters of this profile for the given JDK. When the version of the JDK is not known only the
+     * flags accepted by every JDK since 8 are returned.
+     */
+    @NotNull
+    public List<String> getVmParameters(@Nullable Sdk jdk)
+    {
+        final JavaSdkVersion version = jdk != null ? JavaSdk.getInstance().getVersion(jdk) : null;
+        final FlagList parameters = new FlagList(version != null ? version : JavaSdkVersion.JDK_1_8);
+        addParameters(parameters);
+        return parameters.flags;
+    }
+
+    @NotNull
+    public static JvmProfile fromName(@Nullable String name)
+    {
+        if (StringUtils.isNotBlank(name))
+        {
+            for (JvmProfile profile : values())
+            {
+                if (profile.name().equals(name))
+                {
+                    return profile;
+                }
+            }
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * A quarter of the physical memory, between 1 and 8 GB.
+     */
+    private static long getThroughputHeapSize()
+    {
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean)
+        {
+            final long physicalMemory = ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize() / (1024 * 1024);
+            return Math.max(MIN_THROUGHPUT_HEAP, Math.min(MAX_THROUGHPUT_HEAP, physicalMemory / 4));
+        }
+        return MIN_THROUGHPUT_HEAP;
+    }
+
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+
+    /**
+     * The flags of a profile for one JDK version. The flags added with {@link #add(String)} are accepted by every JDK
+     * the runners support (heap sizes, serial GC, pretouch, heap dumps, young generation sizing).
+     */
+    protected static class FlagList
+    {
+        private final JavaSdkVersion version;
+        private final List<String> flags = new ArrayList<>();
+
+        private FlagList(JavaSdkVersion version)
+        {
+            this.version = version;
+        }
+
+        void add(String flag)
+        {
+            flags.add(flag);
+        }
+
+        void addSince(String flag, JavaSdkVersion since)
+        {
+            if (version.isAtLeast(since))
+            {
+                flags.add(flag);
+            }
+        }
+
+        void addBefore(String flag, JavaSdkVersion removedIn)
+        {
+            if (!version.isAtLeast(removedIn))
+            {
+                flags.add(flag);
+            }
+        }
+    }
+}
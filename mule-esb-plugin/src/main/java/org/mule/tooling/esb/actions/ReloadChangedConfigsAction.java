@@ -0,0 +1,53 @@
+package org.mule.tooling.esb.actions;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.launcher.configuration.runner.MuleAppReloader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes the changed app files into the running Mule runtimes, which redeploy just the apps that changed.
+ */
+public class ReloadChangedConfigsAction extends AnAction {
+
+    public ReloadChangedConfigsAction() {
+        super("Reload Changed Configs", "Redeploy the apps with changed files in the running Mule runtime", null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        final Project project = anActionEvent.getProject();
+        if (project == null)
+            return;
+
+        FileDocumentManager.getInstance().saveAllDocuments();
+        new Task.Backgroundable(project, "Reloading Mule apps", false) {
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                final List<String> reloaded = new ArrayList<>();
+                for (MuleAppReloader reloader : MuleAppReloader.getRunning(project)) {
+                    reloaded.addAll(reloader.reload());
+                }
+                final String content = reloaded.isEmpty() ? "No changes to reload" : "Redeploying " + StringUtils.join(reloaded, ", ");
+                Notifications.Bus.notify(new Notification("Mule Runtime", "Reload Changed Configs", content, NotificationType.INFORMATION), project);
+            }
+        }.queue();
+    }
+
+    @Override
+    public void update(AnActionEvent anActionEvent) {
+        final Project project = anActionEvent.getProject();
+        anActionEvent.getPresentation().setEnabled(project != null && !MuleAppReloader.getRunning(project).isEmpty());
+    }
+}
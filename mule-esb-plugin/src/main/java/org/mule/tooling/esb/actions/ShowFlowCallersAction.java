@@ -0,0 +1,59 @@
+package org.mule.tooling.esb.actions;
+
+import com.intellij.codeInsight.navigation.NavigationUtil;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.ui.popup.JBPopup;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiUtilCore;
+import com.intellij.psi.xml.XmlTag;
+import org.mule.tooling.esb.config.MuleConfigConstants;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import java.util.List;
+
+/**
+ * Shows the <code>flow-ref</code> call sites of the flow or sub-flow under the caret.
+ */
+public class ShowFlowCallersAction extends AnAction {
+
+    public ShowFlowCallersAction() {
+        super("Flow Callers", "Show the flow-ref elements that call this flow", null);
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent anActionEvent) {
+        final Editor editor = anActionEvent.getData(CommonDataKeys.EDITOR);
+        final XmlTag flow = getFlowTag(anActionEvent);
+        if (editor == null || flow == null)
+            return;
+
+        final String flowName = flow.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
+        final List<XmlTag> callers = MuleConfigUtils.findFlowRefsForFlow(flow);
+        final JBPopup popup = NavigationUtil.getPsiElementPopup(PsiUtilCore.toPsiElementArray(callers),
+                callers.isEmpty() ? "No callers of " + flowName : "Callers of " + flowName + " (" + callers.size() + ")");
+        popup.showInBestPositionFor(editor);
+    }
+
+    @Override
+    public void update(AnActionEvent anActionEvent) {
+        anActionEvent.getPresentation().setEnabledAndVisible(getFlowTag(anActionEvent) != null);
+    }
+
+    private XmlTag getFlowTag(AnActionEvent anActionEvent) {
+        final PsiFile psiFile = anActionEvent.getData(CommonDataKeys.PSI_FILE);
+        final Editor editor = anActionEvent.getData(CommonDataKeys.EDITOR);
+        if (psiFile == null || editor == null || !MuleConfigUtils.isMuleFile(psiFile))
+            return null;
+
+        final PsiElement element = psiFile.findElementAt(editor.getCaretModel().getOffset());
+        XmlTag tag = MuleConfigUtils.findParentXmlTag(element);
+        while (tag != null && !(MuleConfigUtils.isFlowTag(tag) || MuleConfigUtils.isSubFlowTag(tag))) {
+            tag = tag.getParentTag();
+        }
+        return tag != null && tag.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE) != null ? tag : null;
+    }
+}
@@ -4,9 +4,6 @@ package org.mule.tooling.esb.config;
 import com.intellij.navigation.NavigationItem;
 import com.intellij.openapi.module.Module;
 import com.intellij.psi.xml.XmlTag;
-import com.intellij.util.Function;
-import com.intellij.util.containers.ContainerUtil;
-import com.intellij.util.xml.DomElement;
 import com.intellij.util.xml.model.gotosymbol.GoToSymbolProvider;
 import org.jetbrains.annotations.NotNull;
 import org.mule.tooling.esb.util.MuleIcons;
@@ -18,12 +15,7 @@ import java.util.Set;
 public class FlowGoToSymbol extends GoToSymbolProvider {
     @Override
     protected void addNames(@NotNull Module module, Set<String> set) {
-        set.addAll(ContainerUtil.mapNotNull(MuleConfigUtils.getFlows(module), new Function<DomElement, String>() {
-            @Override
-            public String fun(DomElement domElement) {
-                return domElement.getXmlTag().getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
-            }
-        }));
+        set.addAll(MuleConfigUtils.getFlowNames(module));
     }
 
     @Override
@@ -0,0 +1,38 @@
+package org.mule.tooling.esb.config;
+
+import com.intellij.openapi.util.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed element definitions of a set of Mule schemas, flattened so completion does not walk the modules.
+ */
+public class MuleElementCatalog {
+
+    private final List<MuleModuleDefinition> moduleDefinitions;
+    private final List<Pair<MuleModuleDefinition, MuleElementDefinition>> elementDefinitions = new ArrayList<>();
+
+    public MuleElementCatalog(@NotNull List<MuleModuleDefinition> moduleDefinitions) {
+        this.moduleDefinitions = moduleDefinitions;
+        for (MuleModuleDefinition moduleDefinition : moduleDefinitions) {
+            for (MuleElementDefinition elementDefinition : moduleDefinition.getElementDefinitions()) {
+                elementDefinitions.add(Pair.create(moduleDefinition, elementDefinition));
+            }
+        }
+    }
+
+    @NotNull
+    public List<MuleModuleDefinition> getModuleDefinitions() {
+        return moduleDefinitions;
+    }
+
+    /**
+     * Returns every element definition with the module that declares it.
+     */
+    @NotNull
+    public List<Pair<MuleModuleDefinition, MuleElementDefinition>> getElementDefinitions() {
+        return elementDefinitions;
+    }
+}
@@ -1,42 +1,65 @@
 package org.mule.tooling.esb.config;
 
-import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.components.AbstractProjectComponent;
+import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.UserDataHolder;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.xml.XmlDocument;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.ArrayUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.esb.config.index.MuleSchemaIndex;
 import org.mule.tooling.esb.util.MuleElementType;
 import org.mule.tooling.esb.util.MuleSchemaUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 public class MuleElementDefinitionService extends AbstractProjectComponent {
 
+    private static final Key<CachedValue<MuleElementCatalog>> CATALOG_KEY = Key.create("MULE_ELEMENT_CATALOG");
 
     protected MuleElementDefinitionService(Project project) {
         super(project);
     }
 
     public List<MuleModuleDefinition> getDefinitions() {
-        return getModuleDefinitions(myProject, GlobalSearchScope.allScope(myProject));
+        return getCatalog(null).getModuleDefinitions();
     }
 
+    /**
+     * Returns the element catalog visible from the given module, or from the whole project if the module is null.
+     * The catalog is only rebuilt when the project roots change.
+     */
+    @NotNull
+    public MuleElementCatalog getCatalog(@Nullable Module module) {
+        final CachedValuesManager manager = CachedValuesManager.getManager(myProject);
+        final UserDataHolder holder = module != null ? module : myProject;
+        final GlobalSearchScope searchScope = module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope.allScope(myProject);
+        return manager.getCachedValue(holder, CATALOG_KEY, () -> {
+            final MuleElementCatalog catalog = new MuleElementCatalog(getModuleDefinitions(myProject, searchScope));
+            return CachedValueProvider.Result.create(catalog, ProjectRootManager.getInstance(myProject));
+        }, false);
+    }
 
     @NotNull
     private List<MuleModuleDefinition> getModuleDefinitions(Project project, GlobalSearchScope searchScope) {
         final List<MuleModuleDefinition> result = new ArrayList<>();
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(XmlFileType.INSTANCE, searchScope);
+        final Set<VirtualFile> files = new LinkedHashSet<>();
+        for (Collection<VirtualFile> schemaFiles : MuleSchemaIndex.getSchemaFiles(project, searchScope).values()) {
+            files.addAll(schemaFiles);
+        }
         for (VirtualFile file : files) {
             final PsiFile xmlFile = PsiManager.getInstance(project).findFile(file);
             if (xmlFile != null && isMuleSchema(xmlFile)) {
@@ -84,7 +107,7 @@ public class MuleElementDefinitionService extends AbstractProjectComponent {
             final XmlTag rootTag = ((XmlDocument) children[0]).getRootTag();
             if (rootTag != null) {
                 final String xmlns = getNamespace(rootTag);
-                if (xmlns != null && xmlns.startsWith("http://www.mulesoft.org/schema/mule/")) {
+                if (xmlns != null && xmlns.startsWith(MuleSchemaIndex.MULE_NAMESPACE_PREFIX)) {
                     return true;
                 }
             }
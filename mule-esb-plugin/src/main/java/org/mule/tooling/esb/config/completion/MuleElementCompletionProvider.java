@@ -3,35 +3,45 @@ package org.mule.tooling.esb.config.completion;
 import com.intellij.codeInsight.completion.CompletionParameters;
 import com.intellij.codeInsight.completion.CompletionProvider;
 import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.PrefixMatcher;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
 import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.config.MuleElementCatalog;
 import org.mule.tooling.esb.config.MuleElementDefinition;
 import org.mule.tooling.esb.config.MuleElementDefinitionService;
 import org.mule.tooling.esb.config.MuleModuleDefinition;
 
-import java.util.List;
-
 public class MuleElementCompletionProvider extends CompletionProvider<CompletionParameters> {
     @Override
     protected void addCompletions(@NotNull CompletionParameters completionParameters, ProcessingContext processingContext, @NotNull CompletionResultSet completionResultSet) {
-        final Project project = completionParameters.getOriginalFile().getProject();
+        final PsiFile file = completionParameters.getOriginalFile();
+        final Project project = file.getProject();
         final MuleElementDefinitionService instance = MuleElementDefinitionService.getInstance(project);
-        final List<MuleModuleDefinition> definitions = instance.getDefinitions();
-        for (MuleModuleDefinition definition : definitions) {
-            final List<MuleElementDefinition> elementDefinitions = definition.getElementDefinitions();
-            for (MuleElementDefinition elementDefinition : elementDefinitions) {
-                final LookupElementBuilder lookupElement =
-                        LookupElementBuilder.create(elementDefinition.getName())
-                                .withCaseSensitivity(false)
-                                .withLookupString(definition.getName() + ":" + elementDefinition.getName())
-                                .withTypeText("\t" + StringUtil.capitalizeWords(elementDefinition.getType().name().toLowerCase(), "_", true, false), true)
-                                .withPresentableText(definition.getName() + ":" + elementDefinition.getName())
-                                .withInsertHandler(new MuleElementInsertHandler(elementDefinition.getName(), definition.getName(), definition.getNamespace(), definition.getLocationLookup()));
-                completionResultSet.addElement(lookupElement);
+        final MuleElementCatalog catalog = instance.getCatalog(ModuleUtilCore.findModuleForPsiElement(file));
+        //Only the elements the matcher of the result set accepts are built, camel humps included. The lookup is case
+        //insensitive, so is the check.
+        final PrefixMatcher matcher = completionResultSet.caseInsensitive().getPrefixMatcher();
+        for (Pair<MuleModuleDefinition, MuleElementDefinition> entry : catalog.getElementDefinitions()) {
+            final MuleModuleDefinition definition = entry.getFirst();
+            final MuleElementDefinition elementDefinition = entry.getSecond();
+            final String qualifiedName = definition.getName() + ":" + elementDefinition.getName();
+            if (!matcher.prefixMatches(elementDefinition.getName()) && !matcher.prefixMatches(qualifiedName)) {
+                continue;
             }
+            final LookupElementBuilder lookupElement =
+                    LookupElementBuilder.create(elementDefinition.getName())
+                            .withCaseSensitivity(false)
+                            .withLookupString(qualifiedName)
+                            .withTypeText("\t" + StringUtil.capitalizeWords(elementDefinition.getType().name().toLowerCase(), "_", true, false), true)
+                            .withPresentableText(qualifiedName)
+                            .withInsertHandler(new MuleElementInsertHandler(elementDefinition.getName(), definition.getName(), definition.getNamespace(), definition.getLocationLookup()));
+            completionResultSet.addElement(lookupElement);
         }
         completionResultSet.stopHere();
     }
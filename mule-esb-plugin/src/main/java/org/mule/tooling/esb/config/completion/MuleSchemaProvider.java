@@ -7,14 +7,14 @@ import com.intellij.notification.Notification;
 import com.intellij.notification.NotificationType;
 import com.intellij.notification.Notifications;
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.fileTypes.FileType;
-import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.fileTypes.StdFileTypes;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectLocator;
 import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.roots.OrderRootType;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.roots.libraries.Library;
@@ -29,10 +29,10 @@ import com.intellij.psi.meta.PsiMetaData;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.ProjectScope;
 import com.intellij.psi.util.*;
 import com.intellij.psi.xml.XmlDocument;
 import com.intellij.psi.xml.XmlFile;
-import com.intellij.util.indexing.FileBasedIndex;
 import com.intellij.xml.XmlElementDescriptor;
 import com.intellij.xml.XmlSchemaProvider;
 import com.intellij.xml.impl.schema.XmlNSDescriptorImpl;
@@ -45,12 +45,14 @@ import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MuleSchemaProvider extends XmlSchemaProvider {
 
     private static final Logger LOG = Logger.getInstance(MuleSchemaProvider.class.getName());
-    private static final Key<CachedValue<Map<String, XmlFile>>> SCHEMAS_BUNDLE_KEY = Key.create("spring_schemas");
+    private static final Key<CachedValue<SchemaBundle>> SCHEMAS_BUNDLE_KEY = Key.create("spring_schemas");
     private static final Key<ParameterizedCachedValue<Map<String, String>, Module>> SPRING_SCHEMA_NAMES_KEY = Key.create("SPRING.SCHEMA.NAMES");
+    private static final Key<CachedValue<Map<List<String>, Map<String, List<VirtualFile>>>>> LIBRARY_XSDS_KEY = Key.create("MULE.LIBRARY.XSDS");
 
     @Override
     public boolean isAvailable(@NotNull XmlFile file) {
@@ -73,11 +75,7 @@ public class MuleSchemaProvider extends XmlSchemaProvider {
             return null;
         }
         try {
-            Map<String, XmlFile> schemas = getSchemas(module);
-            if (schemas != null) {
-                XmlFile schemaFile = schemas.get(url);
-                return schemaFile;
-            }
+            return getSchemaBundle(module).schemas.get(url);
         } catch (Exception e) {
             //e.printStackTrace();
         }
@@ -89,83 +87,38 @@ public class MuleSchemaProvider extends XmlSchemaProvider {
     @NotNull
     public Set<String> getAvailableNamespaces(@NotNull XmlFile file, @Nullable String tagName) {
         final Module module = ModuleUtil.findModuleForPsiElement(file);
-        Map<String, XmlFile> schemas = getSchemas(module);
-        Set<String> namespaces = new HashSet<>();
-
-        try {
-            for (XmlFile xsd : schemas.values()) {
-                final XmlDocument document = xsd.getDocument();
-                if (document != null) {
-                    final PsiMetaData metaData = document.getMetaData();
-                    if (metaData instanceof XmlNSDescriptorImpl) {
-                        XmlNSDescriptorImpl descriptor = (XmlNSDescriptorImpl) metaData;
-                        String defaultNamespace = descriptor.getDefaultNamespace();
-
-                        //Stupid HTTP module XSD weirdo
-                        if (xsd.getName().contains("mule-httpn"))
-                            defaultNamespace = "http://www.mulesoft.org/schema/mule/http";
-                        /////
-
-                        if (StringUtils.isNotEmpty(defaultNamespace)) {
-                            if (StringUtils.isNotEmpty(tagName)) {
-                                XmlElementDescriptor elementDescriptor = descriptor.getElementDescriptor(tagName, defaultNamespace);
-                                if (elementDescriptor != null) {
-                                    namespaces.add(defaultNamespace);
-                                }
-                            } else {
-                                namespaces.add(defaultNamespace);
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            //e.printStackTrace();
+        if (module == null) {
+            return Collections.emptySet();
         }
-        return namespaces;
+        final SchemaBundle bundle = getSchemaBundle(module);
+        if (StringUtils.isNotEmpty(tagName)) {
+            final Set<String> namespaces = bundle.namespacesByTagName.get(tagName);
+            return namespaces == null ? new HashSet<>() : new HashSet<>(namespaces);
+        }
+        return new HashSet<>(bundle.descriptorsByNamespace.keySet());
     }
 
     @Override
     public Set<String> getLocations(@NotNull @NonNls final String namespace, @NotNull final XmlFile context) throws ProcessCanceledException {
-        Set<String> locations = new HashSet<>();
         final Module module = ModuleUtil.findModuleForPsiElement(context);
         if (module == null) {
             return null;
         }
-        try {
-            final Map<String, XmlFile> schemas = getSchemas(module);
-            for (Map.Entry<String, XmlFile> entry : schemas.entrySet()) {
-                final String s = getNamespace(entry.getValue(), context.getProject());
-                if (s != null && s.equals(namespace)) {
-                    if (!entry.getKey().contains("mule-httpn.xsd")) {
-                        locations.add(entry.getKey()); //Observe the formatting rules
-                        XmlFile schemaFile = entry.getValue();
-                        try {
-                            String url = schemaFile.getVirtualFile().getUrl();
-                            if (url != null) {
-                                if (url.startsWith("jar://"))
-                                    url = url.substring(6);
-                                ExternalResourceManager.getInstance().addResource(namespace, url);
-                            }
-                        } catch (Throwable ex) {
-                            Notifications.Bus.notify(new Notification("Schema Provider", "Schema Provider", ex.toString(),
-                                    NotificationType.ERROR));
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        return locations;
+        final Set<String> locations = getSchemaBundle(module).locationsByNamespace.get(namespace);
+        return locations == null ? new HashSet<>() : new HashSet<>(locations);
     }
 
     @NotNull
     public Map<String, XmlFile> getSchemas(@NotNull final Module module) throws ProcessCanceledException {
+        return getSchemaBundle(module).schemas;
+    }
+
+    @NotNull
+    private SchemaBundle getSchemaBundle(@NotNull final Module module) throws ProcessCanceledException {
         final Project project = module.getProject();
         final CachedValuesManager manager = CachedValuesManager.getManager(project);
-        final Map<String, XmlFile> bundle = manager.getCachedValue(module, SCHEMAS_BUNDLE_KEY, new CachedValueProvider<Map<String, XmlFile>>() {
-            public Result<Map<String, XmlFile>> compute() {
+        final SchemaBundle bundle = manager.getCachedValue(module, SCHEMAS_BUNDLE_KEY, new CachedValueProvider<SchemaBundle>() {
+            public Result<SchemaBundle> compute() {
                 try {
                     return computeSchemas(module);
                 } catch (ProcessCanceledException pce) {
@@ -176,13 +129,13 @@ public class MuleSchemaProvider extends XmlSchemaProvider {
                 }
             }
         }, false);
-        return bundle == null ? Collections.<String, XmlFile>emptyMap() : bundle;
+        return bundle == null ? SchemaBundle.EMPTY : bundle;
     }
 
     //============================================================================================================
 
     @NotNull
-    private CachedValueProvider.Result<Map<String, XmlFile>> computeSchemas(@NotNull Module module) throws Exception {
+    private CachedValueProvider.Result<SchemaBundle> computeSchemas(@NotNull Module module) throws Exception {
         final Project project = module.getProject();
         final CachedValuesManager manager = CachedValuesManager.getManager(project);
 
@@ -193,39 +146,110 @@ public class MuleSchemaProvider extends XmlSchemaProvider {
 
         Map<String, String> schemaUrlsAndFileNames = manager.getParameterizedCachedValue(module, SPRING_SCHEMA_NAMES_KEY, new SchemaFileNamesCachedProvider(), false, module);
 
-        for (String url : schemaUrlsAndFileNames.keySet()) {
-            final String fileName = schemaUrlsAndFileNames.get(url);
+        final GlobalSearchScope contentScope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module).intersectWith(ProjectScope.getContentScope(project));
+        final Map<String, List<VirtualFile>> contentXsds = collectXsdsByName(contentScope);
+        final Map<String, List<VirtualFile>> libraryXsds = getLibraryXsdsByName(module);
+
+        final PsiManager psiManager = PsiManager.getInstance(project);
+        for (Map.Entry<String, String> entry : schemaUrlsAndFileNames.entrySet()) {
+            final String fileName = entry.getValue();
             final String relativePath = fileName.startsWith("/") ? fileName : "/" + fileName;
 
-            final Set<FileType> fileTypes = Collections.singleton(FileTypeManager.getInstance().getFileTypeByFileName(relativePath));
+            //Schemas in the project sources win over the ones in the libraries
+            VirtualFile virtualFile = findXsd(contentXsds, relativePath);
+            if (virtualFile == null) {
+                virtualFile = findXsd(libraryXsds, relativePath);
+            }
 
-            final List<VirtualFile> fileList = new ArrayList<>();
-            FileBasedIndex.getInstance().processFilesContainingAllKeys(FileTypeIndex.NAME, fileTypes, GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module), null, virtualFile -> {
-                if (virtualFile.getPath().endsWith(relativePath) && !virtualFile.getCanonicalPath().contains("mule-transport-http")) {
-                    fileList.add(virtualFile);
-                }
-                return true;
-            });
-
-            if (!fileList.isEmpty()) {
-                final VirtualFile virtualFile = fileList.get(0);
-                final PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
-                if (psiFile != null) {
-                    //final XmlFile xmlFile = (XmlFile) psiFile.copy();
-                    final XmlFile xmlFile = (XmlFile) psiFile;
-                    if (xmlFile != null) {
-                        schemas.put(url, xmlFile);
-                    }
+            if (virtualFile != null) {
+                final PsiFile psiFile = psiManager.findFile(virtualFile);
+                if (psiFile instanceof XmlFile) {
+                    schemas.put(entry.getKey(), (XmlFile) psiFile);
                 }
             }
+        }
+
+        final SchemaBundle bundle = new SchemaBundle(schemas);
+        registerExternalResources(bundle);
+        return new CachedValueProvider.Result<SchemaBundle>(bundle, dependencies.toArray());
+    }
+
+    /**
+     * Returns the XSD files in the libraries of the module, by file name. The result only depends on the library
+     * roots, so modules with the same dependencies share it instead of scanning the same jars again.
+     */
+    @NotNull
+    private static Map<String, List<VirtualFile>> getLibraryXsdsByName(@NotNull final Module module) {
+        final Project project = module.getProject();
+        final List<String> libraryRoots = Arrays.asList(OrderEnumerator.orderEntries(module).librariesOnly().recursively().classes().getUrls());
+        final Map<List<String>, Map<String, List<VirtualFile>>> xsdsByLibraryRoots = CachedValuesManager.getManager(project).getCachedValue(project, LIBRARY_XSDS_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), ProjectRootManager.getInstance(project)), false);
+        Map<String, List<VirtualFile>> result = xsdsByLibraryRoots.get(libraryRoots);
+        if (result == null) {
+            final GlobalSearchScope librariesScope = GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module).intersectWith(ProjectScope.getLibrariesScope(project));
+            result = collectXsdsByName(librariesScope);
+            xsdsByLibraryRoots.put(libraryRoots, result);
+        }
+        return result;
+    }
+
+    /**
+     * Walks the XML files of the scope once and groups the schemas by file name, so every spring.schemas entry
+     * can be matched with a map lookup.
+     */
+    @NotNull
+    private static Map<String, List<VirtualFile>> collectXsdsByName(@NotNull GlobalSearchScope scope) {
+        final Map<String, List<VirtualFile>> result = new HashMap<>();
+        for (VirtualFile file : FileTypeIndex.getFiles(StdFileTypes.XML, scope)) {
+            if ("xsd".equalsIgnoreCase(file.getExtension()) && !file.getPath().contains("mule-transport-http")) {
+                result.computeIfAbsent(file.getName(), name -> new ArrayList<>()).add(file);
+            }
+        }
+        return result;
+    }
 
+    @Nullable
+    private static VirtualFile findXsd(@NotNull Map<String, List<VirtualFile>> xsdsByName, @NotNull String relativePath) {
+        final List<VirtualFile> candidates = xsdsByName.get(relativePath.substring(relativePath.lastIndexOf('/') + 1));
+        if (candidates != null) {
+            for (VirtualFile candidate : candidates) {
+                if (candidate.getPath().endsWith(relativePath)) {
+                    return candidate;
+                }
+            }
         }
+        return null;
+    }
 
-        return new CachedValueProvider.Result<Map<String, XmlFile>>(schemas, dependencies.toArray());
+    /**
+     * Maps every namespace to its schema file in the {@link ExternalResourceManager}. This only needs to happen
+     * when the schemas are recomputed.
+     */
+    private static void registerExternalResources(SchemaBundle bundle) {
+        for (Map.Entry<String, XmlFile> entry : bundle.schemas.entrySet()) {
+            if (entry.getKey().contains("mule-httpn.xsd")) {
+                continue;
+            }
+            final String namespace = bundle.namespacesByUrl.get(entry.getKey());
+            if (namespace == null) {
+                continue;
+            }
+            try {
+                String url = entry.getValue().getVirtualFile().getUrl();
+                if (url != null) {
+                    if (url.startsWith("jar://"))
+                        url = url.substring(6);
+                    ExternalResourceManager.getInstance().addResource(namespace, url);
+                }
+            } catch (Throwable ex) {
+                Notifications.Bus.notify(new Notification("Schema Provider", "Schema Provider", ex.toString(),
+                        NotificationType.ERROR));
+            }
+        }
     }
 
     @Nullable
-    private static String getNamespace(final XmlFile xmlFile, final Project project) {
+    private static String getNamespace(final XmlFile xmlFile) {
         //Stupid HTTP module XSD weirdo
         if (xmlFile.getName().contains("mule-httpn.xsd"))
             return "http://www.mulesoft.org/schema/mule/http";
@@ -251,6 +275,54 @@ public class MuleSchemaProvider extends XmlSchemaProvider {
         }
         return false;
     }
+    /*********************************************************************************************************************************************************
+     Schemas of a Module (url -> XSD) plus the lookup tables derived from them
+     *********************************************************************************************************************************************************/
+    private static class SchemaBundle {
+        static final SchemaBundle EMPTY = new SchemaBundle(Collections.<String, XmlFile>emptyMap());
+
+        final Map<String, XmlFile> schemas;
+        final Map<String, String> namespacesByUrl = new HashMap<>();
+        final Map<String, Set<String>> locationsByNamespace = new HashMap<>();
+        final Map<String, XmlNSDescriptorImpl> descriptorsByNamespace = new HashMap<>();
+        final Map<String, Set<String>> namespacesByTagName = new HashMap<>();
+
+        SchemaBundle(Map<String, XmlFile> schemas) {
+            this.schemas = schemas;
+            for (Map.Entry<String, XmlFile> entry : schemas.entrySet()) {
+                final String url = entry.getKey();
+                final XmlFile xsd = entry.getValue();
+                final String namespace = getNamespace(xsd);
+                if (StringUtils.isEmpty(namespace)) {
+                    continue;
+                }
+                namespacesByUrl.put(url, namespace);
+                if (!url.contains("mule-httpn.xsd")) {
+                    locationsByNamespace.computeIfAbsent(namespace, k -> new HashSet<>()).add(url); //Observe the formatting rules
+                }
+                final XmlNSDescriptorImpl descriptor = getDescriptor(xsd);
+                if (descriptor != null) {
+                    descriptorsByNamespace.put(namespace, descriptor);
+                    for (XmlElementDescriptor elementDescriptor : descriptor.getRootElementsDescriptors(null)) {
+                        namespacesByTagName.computeIfAbsent(elementDescriptor.getName(), k -> new HashSet<>()).add(namespace);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private static XmlNSDescriptorImpl getDescriptor(XmlFile xsd) {
+            final XmlDocument document = xsd.getDocument();
+            if (document != null) {
+                final PsiMetaData metaData = document.getMetaData();
+                if (metaData instanceof XmlNSDescriptorImpl) {
+                    return (XmlNSDescriptorImpl) metaData;
+                }
+            }
+            return null;
+        }
+    }
+
     /*********************************************************************************************************************************************************
      Provides Map of schema url -> XSD name per Module
      *********************************************************************************************************************************************************/
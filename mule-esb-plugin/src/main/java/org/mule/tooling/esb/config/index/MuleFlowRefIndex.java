@@ -0,0 +1,137 @@
+package org.mule.tooling.esb.config.index;
+
+import com.intellij.lexer.XmlLexer;
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.psi.xml.XmlTokenType;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.config.MuleConfigConstants;
+
+import java.util.*;
+
+/**
+ * Reverse index of <code>flow-ref</code> call sites, keyed by the name of the referenced flow.
+ * The value holds the start offsets of every <code>flow-ref</code> to that flow in the file.
+ * <p>
+ * Files are scanned with the XML lexer only, no PSI is built while indexing.
+ */
+public class MuleFlowRefIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> NAME = ID.create("org.mule.tooling.esb.config.index.MuleFlowRefIndex");
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return inputData -> {
+            final CharSequence text = inputData.getContentAsText();
+            if (!StringUtil.contains(text, "<" + MuleConfigConstants.FLOW_REF_TAG_NAME)) {
+                return Collections.emptyMap();
+            }
+            return collectFlowRefs(text);
+        };
+    }
+
+    @NotNull
+    private static Map<String, List<Integer>> collectFlowRefs(CharSequence text) {
+        final Map<String, List<Integer>> result = new HashMap<>();
+        final XmlLexer lexer = new XmlLexer();
+        lexer.start(text);
+
+        int tagStart = -1;
+        boolean expectTagName = false;
+        boolean inFlowRef = false;
+        String attributeName = null;
+        IElementType type;
+        while ((type = lexer.getTokenType()) != null) {
+            if (type == XmlTokenType.XML_START_TAG_START) {
+                tagStart = lexer.getTokenStart();
+                expectTagName = true;
+                inFlowRef = false;
+                attributeName = null;
+            } else if (type == XmlTokenType.XML_NAME || type == XmlTokenType.XML_TAG_NAME) {
+                final String name = text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+                if (expectTagName) {
+                    inFlowRef = MuleConfigConstants.FLOW_REF_TAG_NAME.equals(name);
+                    expectTagName = false;
+                } else {
+                    attributeName = name;
+                }
+            } else if (type == XmlTokenType.XML_ATTRIBUTE_VALUE_TOKEN) {
+                if (inFlowRef && MuleConfigConstants.NAME_ATTRIBUTE.equals(attributeName)) {
+                    final String flowName = text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString();
+                    //Dynamic flow refs can't be resolved statically
+                    if (!flowName.trim().startsWith("#[")) {
+                        result.computeIfAbsent(flowName, k -> new ArrayList<>()).add(tagStart);
+                    }
+                }
+            } else if (type == XmlTokenType.XML_TAG_END || type == XmlTokenType.XML_EMPTY_ELEMENT_END || type == XmlTokenType.XML_END_TAG_START) {
+                expectTagName = false;
+                inFlowRef = false;
+                attributeName = null;
+            }
+            lexer.advance();
+        }
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return MuleIndexUtils.OFFSETS_EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(StdFileTypes.XML);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the <code>flow-ref</code> tags that call the given flow in the scope.
+     */
+    @NotNull
+    public static List<XmlTag> findFlowRefs(@NotNull Project project, @NotNull String flowName, @NotNull GlobalSearchScope scope) {
+        final List<XmlTag> result = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, flowName, null, (file, offsets) -> {
+            for (Integer offset : offsets) {
+                final XmlTag tag = MuleIndexUtils.findTagAt(project, file, offset);
+                if (tag != null && MuleConfigConstants.FLOW_REF_TAG_NAME.equals(tag.getName())
+                        && flowName.equals(tag.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE))) {
+                    result.add(tag);
+                }
+            }
+            return true;
+        }, scope);
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package org.mule.tooling.esb.config.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.config.MuleConfigConstants;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import java.util.*;
+
+/**
+ * Indexes the global elements (connector configs, transformers, etc.) declared in Mule configs, by name.
+ * The value is the start offset of the tag.
+ */
+public class MuleGlobalElementIndex extends FileBasedIndexExtension<String, Integer> {
+
+    public static final ID<String, Integer> NAME = ID.create("org.mule.tooling.esb.config.index.MuleGlobalElementIndex");
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, Integer> result = new HashMap<>();
+            final XmlTag rootTag = MuleIndexUtils.getMuleRootTag(inputData);
+            if (rootTag != null) {
+                for (XmlTag subTag : rootTag.getSubTags()) {
+                    if (MuleConfigUtils.isGlobalElement(subTag)) {
+                        final String name = subTag.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
+                        if (StringUtils.isNotEmpty(name) && !result.containsKey(name)) {
+                            result.put(name, MuleIndexUtils.getOffset(subTag));
+                        }
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(StdFileTypes.XML);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the global elements with the given name in the scope.
+     */
+    @NotNull
+    public static List<XmlTag> findGlobalElements(@NotNull Project project, @NotNull String elementName, @NotNull GlobalSearchScope scope) {
+        final List<XmlTag> result = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, elementName, null, (file, offset) -> {
+            final XmlTag tag = MuleIndexUtils.findTagAt(project, file, offset);
+            if (tag != null && elementName.equals(tag.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE))) {
+                result.add(tag);
+            }
+            return true;
+        }, scope);
+        return result;
+    }
+
+    /**
+     * Returns the names of all the global elements declared in the scope.
+     */
+    @NotNull
+    public static Set<String> getGlobalElementNames(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        final FileBasedIndex index = FileBasedIndex.getInstance();
+        final Set<String> result = new TreeSet<>();
+        for (String name : index.getAllKeys(NAME, project)) {
+            if (!index.getContainingFiles(NAME, name, scope).isEmpty()) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+package org.mule.tooling.esb.config.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import javax.xml.namespace.QName;
+import java.util.*;
+
+/**
+ * Indexes the global elements declared in Mule configs by element QName (<code>{namespace}localName</code>).
+ * The value holds the start offsets of every global element of that QName in the file.
+ */
+public class MuleGlobalElementQNameIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> NAME = ID.create("org.mule.tooling.esb.config.index.MuleGlobalElementQNameIndex");
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, List<Integer>> result = new HashMap<>();
+            final XmlTag rootTag = MuleIndexUtils.getMuleRootTag(inputData);
+            if (rootTag != null) {
+                for (XmlTag subTag : rootTag.getSubTags()) {
+                    if (MuleConfigUtils.isGlobalElement(subTag)) {
+                        final String key = MuleConfigUtils.getQName(subTag).toString();
+                        result.computeIfAbsent(key, k -> new ArrayList<>()).add(MuleIndexUtils.getOffset(subTag));
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return MuleIndexUtils.OFFSETS_EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(StdFileTypes.XML);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the global elements of the given QName in the scope.
+     */
+    @NotNull
+    public static List<XmlTag> findGlobalElements(@NotNull Project project, @NotNull QName qName, @NotNull GlobalSearchScope scope) {
+        final List<XmlTag> result = new ArrayList<>();
+        FileBasedIndex.getInstance().processValues(NAME, qName.toString(), null, (file, offsets) -> {
+            for (Integer offset : offsets) {
+                final XmlTag tag = MuleIndexUtils.findTagAt(project, file, offset);
+                if (tag != null && qName.equals(MuleConfigUtils.getQName(tag))) {
+                    result.add(tag);
+                }
+            }
+            return true;
+        }, scope);
+        return result;
+    }
+
+    /**
+     * Returns the QNames of all the global elements declared in the scope.
+     */
+    @NotNull
+    public static Set<QName> getQNames(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        final FileBasedIndex index = FileBasedIndex.getInstance();
+        final Set<QName> result = new HashSet<>();
+        for (String key : index.getAllKeys(NAME, project)) {
+            if (!index.getContainingFiles(NAME, key, scope).isEmpty()) {
+                result.add(QName.valueOf(key));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package org.mule.tooling.esb.config.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared helpers for the Mule config indexes.
+ */
+public class MuleIndexUtils {
+
+    private static final String MULE_ROOT_PREFIX = "<mule";
+
+    public static final DataExternalizer<List<Integer>> OFFSETS_EXTERNALIZER = new DataExternalizer<List<Integer>>() {
+        @Override
+        public void save(@NotNull DataOutput out, List<Integer> value) throws IOException {
+            DataInputOutputUtil.writeINT(out, value.size());
+            for (Integer offset : value) {
+                DataInputOutputUtil.writeINT(out, offset);
+            }
+        }
+
+        @Override
+        public List<Integer> read(@NotNull DataInput in) throws IOException {
+            final int size = DataInputOutputUtil.readINT(in);
+            final List<Integer> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(DataInputOutputUtil.readINT(in));
+            }
+            return result;
+        }
+    };
+
+    /**
+     * Returns the root <code>mule</code> tag of the indexed file, or null if it is not a Mule config.
+     * The file text is checked first so that plain XML files (poms, log4j, etc.) never get parsed.
+     */
+    @Nullable
+    public static XmlTag getMuleRootTag(@NotNull FileContent inputData) {
+        if (!StringUtil.contains(inputData.getContentAsText(), MULE_ROOT_PREFIX)) {
+            return null;
+        }
+        final PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof XmlFile)) {
+            return null;
+        }
+        final XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+        return rootTag != null && MuleConfigUtils.isMuleTag(rootTag) ? rootTag : null;
+    }
+
+    public static int getOffset(@NotNull XmlTag tag) {
+        return tag.getTextRange().getStartOffset();
+    }
+
+    /**
+     * Finds the tag that starts at the given offset, the inverse of {@link #getOffset(XmlTag)}.
+     */
+    @Nullable
+    public static XmlTag findTagAt(@NotNull Project project, @NotNull VirtualFile file, int offset) {
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (!(psiFile instanceof XmlFile)) {
+            return null;
+        }
+        final PsiElement element = psiFile.findElementAt(offset);
+        final XmlTag tag = PsiTreeUtil.getParentOfType(element, XmlTag.class, false);
+        return tag != null && getOffset(tag) == offset ? tag : null;
+    }
+}
@@ -0,0 +1,99 @@
+package org.mule.tooling.esb.config.index;
+
+import com.intellij.openapi.fileTypes.StdFileTypes;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Indexes the Mule XSDs (default <code>xmlns</code> namespace under <code>http://www.mulesoft.org/schema/mule/</code>)
+ * by that namespace, so the schema files can be found without parsing every XML file on the classpath.
+ */
+public class MuleSchemaIndex extends ScalarIndexExtension<String> {
+
+    public static final ID<String, Void> NAME = ID.create("org.mule.tooling.esb.config.index.MuleSchemaIndex");
+
+    public static final String MULE_NAMESPACE_PREFIX = "http://www.mulesoft.org/schema/mule/";
+
+    private static final String XSD_EXTENSION = "xsd";
+
+    @NotNull
+    @Override
+    public ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            if (!StringUtil.contains(inputData.getContentAsText(), MULE_NAMESPACE_PREFIX)) {
+                return Collections.emptyMap();
+            }
+            final PsiFile psiFile = inputData.getPsiFile();
+            if (psiFile instanceof XmlFile) {
+                final XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+                if (rootTag != null) {
+                    final String namespace = rootTag.getAttributeValue("xmlns");
+                    if (namespace != null && namespace.startsWith(MULE_NAMESPACE_PREFIX)) {
+                        return Collections.singletonMap(namespace, null);
+                    }
+                }
+            }
+            return Collections.emptyMap();
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(StdFileTypes.XML) {
+            @Override
+            public boolean acceptInput(@NotNull VirtualFile file) {
+                return XSD_EXTENSION.equalsIgnoreCase(file.getExtension());
+            }
+        };
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the Mule XSD files in the scope, grouped by namespace.
+     */
+    @NotNull
+    public static Map<String, Collection<VirtualFile>> getSchemaFiles(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        final FileBasedIndex index = FileBasedIndex.getInstance();
+        final Map<String, Collection<VirtualFile>> result = new TreeMap<>();
+        for (String namespace : index.getAllKeys(NAME, project)) {
+            final Collection<VirtualFile> files = index.getContainingFiles(NAME, namespace, scope);
+            if (!files.isEmpty()) {
+                result.put(namespace, files);
+            }
+        }
+        return result;
+    }
+}
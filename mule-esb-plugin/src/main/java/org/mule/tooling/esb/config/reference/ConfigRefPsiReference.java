@@ -5,16 +5,12 @@ import com.intellij.psi.PsiReferenceBase;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlTag;
-import com.intellij.util.Function;
+import com.intellij.util.ArrayUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.config.MuleConfigConstants;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
-import java.util.List;
-
-import static com.intellij.util.containers.ContainerUtil.mapNotNull;
-
 public class ConfigRefPsiReference extends PsiReferenceBase<XmlAttributeValue> {
     public ConfigRefPsiReference(@NotNull XmlAttributeValue element) {
         super(element);
@@ -39,12 +35,6 @@ public class ConfigRefPsiReference extends PsiReferenceBase<XmlAttributeValue> {
     @NotNull
     @Override
     public Object[] getVariants() {
-        final List<XmlTag> flow = MuleConfigUtils.getGlobalElements(getElement().getProject());
-        return mapNotNull(flow, new Function<XmlTag, Object>() {
-            @Override
-            public String fun(XmlTag domElement) {
-                return domElement.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
-            }
-        }).toArray();
+        return ArrayUtil.toStringArray(MuleConfigUtils.getGlobalElementNames(getElement().getProject()));
     }
 }
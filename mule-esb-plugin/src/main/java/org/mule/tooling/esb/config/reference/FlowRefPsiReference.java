@@ -6,17 +6,12 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlTag;
-import com.intellij.util.Function;
-import com.intellij.util.xml.DomElement;
+import com.intellij.util.ArrayUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.config.MuleConfigConstants;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
-import java.util.List;
-
-import static com.intellij.util.containers.ContainerUtil.mapNotNull;
-
 public class FlowRefPsiReference extends PsiReferenceBase<XmlAttributeValue> {
     public FlowRefPsiReference(@NotNull XmlAttributeValue element) {
         super(element);
@@ -41,8 +36,7 @@ public class FlowRefPsiReference extends PsiReferenceBase<XmlAttributeValue> {
     @NotNull
     @Override
     public Object[] getVariants() {
-        final List<DomElement> flow = MuleConfigUtils.getFlows(getElement().getProject());
-        return mapNotNull(flow, (Function<DomElement, Object>) domElement -> domElement.getXmlTag().getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE)).toArray();
+        return ArrayUtil.toStringArray(MuleConfigUtils.getFlowNames(getElement().getProject()));
     }
 
     public boolean isReferenceTo(PsiElement element) {
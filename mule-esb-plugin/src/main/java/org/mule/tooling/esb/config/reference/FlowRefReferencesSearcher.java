@@ -0,0 +1,57 @@
+package org.mule.tooling.esb.config.reference;
+
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.config.MuleConfigConstants;
+import org.mule.tooling.esb.config.index.MuleFlowRefIndex;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+/**
+ * Finds the <code>flow-ref</code> usages of a flow or sub-flow name through {@link MuleFlowRefIndex}.
+ */
+public class FlowRefReferencesSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+    public FlowRefReferencesSearcher() {
+        super(true);
+    }
+
+    @Override
+    public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters, @NotNull Processor<PsiReference> consumer) {
+        final PsiElement element = queryParameters.getElementToSearch();
+        if (!(element instanceof XmlAttributeValue)) {
+            return;
+        }
+        final XmlTag flow = PsiTreeUtil.getParentOfType(element, XmlTag.class);
+        if (flow == null || !(MuleConfigUtils.isFlowTag(flow) || MuleConfigUtils.isSubFlowTag(flow))) {
+            return;
+        }
+        final String flowName = ((XmlAttributeValue) element).getValue();
+        final SearchScope scope = queryParameters.getEffectiveSearchScope();
+        if (!(scope instanceof GlobalSearchScope)) {
+            return;
+        }
+
+        for (XmlTag flowRef : MuleFlowRefIndex.findFlowRefs(element.getProject(), flowName, (GlobalSearchScope) scope)) {
+            final XmlAttributeValue value = flowRef.getAttribute(MuleConfigConstants.NAME_ATTRIBUTE).getValueElement();
+            if (value == null) {
+                continue;
+            }
+            for (PsiReference reference : value.getReferences()) {
+                if (reference instanceof FlowRefPsiReference && reference.isReferenceTo(element)) {
+                    if (!consumer.process(reference)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
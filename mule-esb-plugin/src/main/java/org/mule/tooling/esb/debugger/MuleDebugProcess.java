@@ -4,6 +4,7 @@ package org.mule.tooling.esb.debugger;
 import com.intellij.execution.ExecutionResult;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.ui.ExecutionConsole;
+import com.intellij.execution.ui.RunnerLayoutUi;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
@@ -15,6 +16,7 @@ import com.intellij.xdebugger.breakpoints.XBreakpointHandler;
 import com.intellij.xdebugger.evaluation.XDebuggerEditorsProvider;
 import com.intellij.xdebugger.evaluation.XDebuggerEvaluator;
 import com.intellij.xdebugger.frame.XSuspendContext;
+import com.intellij.xdebugger.ui.XDebugTabLayouter;
 import com.mulesoft.mule.debugger.response.MuleMessageInfo;
 import com.mulesoft.mule.debugger.response.ObjectFieldDefinition;
 import org.jetbrains.annotations.NotNull;
@@ -24,11 +26,12 @@ import org.mule.tooling.esb.debugger.breakpoint.MuleBreakpointHandler;
 import org.mule.tooling.esb.debugger.session.MessageReceivedListener;
 import org.mule.tooling.esb.debugger.session.MuleDebuggerSession;
 import org.mule.tooling.esb.launcher.configuration.MuleConfiguration;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyPanel;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 import java.util.List;
 import java.util.Map;
 
-import static org.mule.tooling.esb.util.MuleConfigUtils.getMulePath;
 import static org.mule.tooling.esb.util.MuleConfigUtils.getXmlTagAt;
 
 public class MuleDebugProcess extends XDebugProcess {
@@ -54,27 +57,34 @@ public class MuleDebugProcess extends XDebugProcess {
     muleDebuggerSession.addMessageReceivedListener(new MessageReceivedListener() {
       @Override
       public void onNewMessageReceived(MuleMessageInfo muleMessageInfo) {
-
+        final long start = System.nanoTime();
         getSession().positionReached(new MuleSuspendContext(new MuleStackFrame(getSession().getProject(), muleDebuggerSession, muleMessageInfo)));
+        recordSuspend(start, muleMessageInfo);
       }
 
       @Override
       public void onExceptionThrown(MuleMessageInfo muleMessageInfo, ObjectFieldDefinition exceptionThrown) {
-
+        final long start = System.nanoTime();
         getSession().positionReached(new MuleSuspendContext(new MuleStackFrame(getSession().getProject(), muleDebuggerSession, muleMessageInfo, exceptionThrown)));
+        recordSuspend(start, muleMessageInfo);
       }
 
       @Override
       public void onExecutionStopped(MuleMessageInfo muleMessageInfo, List<ObjectFieldDefinition> frame, String path, String internalPosition) {
-        System.out.println("MuleDebugProcess.onExecutionStopped : " + path + "#" + internalPosition);
+        final long start = System.nanoTime();
         final WeaveIntegrationStackFrame weaveStackFrame = new WeaveIntegrationStackFrame(getSession().getProject(), muleDebuggerSession, path, internalPosition, frame);
-        final MuleStackFrame muleStackFrame = new MuleStackFrame(getSession().getProject(), muleDebuggerSession, muleMessageInfo, null);
+        final MuleStackFrame muleStackFrame = new MuleStackFrame(getSession().getProject(), muleDebuggerSession, muleMessageInfo, null, false);
         getSession().positionReached(new MuleSuspendContext(weaveStackFrame, muleStackFrame));
+        recordSuspend(start, muleMessageInfo);
       }
 
     });
   }
 
+  private void recordSuspend(long start, MuleMessageInfo muleMessageInfo) {
+    muleDebuggerSession.getLatencyRecorder().record(DebuggerLatencyRecorder.Phase.SUSPEND_CONTEXT, start, muleMessageInfo.getMessageProcessorInfo().getPath());
+  }
+
   protected Project getProject() {
     return getSession().getProject();
   }
@@ -110,6 +120,17 @@ public class MuleDebugProcess extends XDebugProcess {
     muleDebuggerSession.resume();
   }
 
+  @NotNull
+  @Override
+  public XDebugTabLayouter createTabLayouter() {
+    return new XDebugTabLayouter() {
+      @Override
+      public void registerAdditionalContent(@NotNull RunnerLayoutUi ui) {
+        DebuggerLatencyPanel.addTab(ui, getProject(), muleDebuggerSession.getLatencyRecorder());
+      }
+    };
+  }
+
   @Override
   public void registerAdditionalActions(@NotNull DefaultActionGroup leftToolbar, @NotNull DefaultActionGroup topToolbar, @NotNull DefaultActionGroup settings) {
     super.registerAdditionalActions(leftToolbar, topToolbar, settings);
@@ -125,11 +146,12 @@ public class MuleDebugProcess extends XDebugProcess {
   @Override
   public void runToPosition(@NotNull XSourcePosition xSourcePosition, @Nullable XSuspendContext context) {
     //muleDebuggerSession.runToCursor(getMulePath(getXmlTagAt(getModule().getProject(), xSourcePosition)));
-    muleDebuggerSession.runToCursor(getMulePath(getXmlTagAt(getProject(), xSourcePosition)));
+    muleDebuggerSession.runToCursor(muleDebuggerSession.getPathResolver().getMulePath(getXmlTagAt(getProject(), xSourcePosition)));
   }
 
   @Override
   public void stop() {
+    muleBreakpointHandler.stop();
     muleDebuggerSession.disconnect();
   }
 
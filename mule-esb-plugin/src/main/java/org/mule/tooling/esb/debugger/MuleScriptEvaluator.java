@@ -12,9 +12,26 @@ import org.mule.tooling.esb.debugger.session.MuleDebuggerSession;
 import org.mule.tooling.esb.debugger.session.ScriptEvaluationCallback;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates MEL scripts in the frame it belongs to. The result of each script is kept for the life of the evaluator, so
+ * a frame that repaints its watches does not send them again. Method calls are kept as well, as most are reads like
+ * <code>payload.size()</code>. Assignments always run, without touching the results kept for the other scripts.
+ */
 public class MuleScriptEvaluator extends XDebuggerEvaluator {
 
+    //An assignment, compound ones included, but not a comparison
+    private static final Pattern ASSIGNMENT = Pattern.compile("(?<![=!<>])=(?!=)|\\+\\+|--");
+    //Quoted text, where an equals sign is no assignment
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.)*'|\"(?:[^\"\\\\]|\\\\.)*\"");
+
     private MuleDebuggerSession session;
+    private final Map<String, CachedEvaluation> evaluations = new ConcurrentHashMap<>();
 
     public MuleScriptEvaluator(@NotNull MuleDebuggerSession session) {
         this.session = session;
@@ -23,19 +40,79 @@ public class MuleScriptEvaluator extends XDebuggerEvaluator {
     @Override
     public void evaluate(@NotNull String script, @NotNull final XEvaluationCallback xEvaluationCallback, @Nullable XSourcePosition xSourcePosition) {
         final String melExpression = MuleConfigUtils.asMelScript(script);
-        session.eval(melExpression, new ScriptEvaluationCallback() {
-            @Override
-            public void onScriptEvaluationException(RemoteDebugException exception) {
-                xEvaluationCallback.evaluated(new ObjectFieldDefinitionValue(session, exception.getException(), AllIcons.General.Error));
-            }
+        if (ASSIGNMENT.matcher(STRING_LITERAL.matcher(script).replaceAll("''")).find()) {
+            final CachedEvaluation uncached = new CachedEvaluation(melExpression);
+            uncached.addCallback(xEvaluationCallback);
+            session.eval(melExpression, uncached);
+            return;
+        }
+        final CachedEvaluation created = new CachedEvaluation(melExpression);
+        final CachedEvaluation evaluation = evaluations.putIfAbsent(melExpression, created);
+        if (evaluation == null) {
+            created.addCallback(xEvaluationCallback);
+            session.eval(melExpression, created);
+        } else {
+            evaluation.addCallback(xEvaluationCallback);
+        }
+    }
+
+    /**
+     * The outcome of one script, handed to every callback that asked for it, including the ones that arrive after it.
+     */
+    private class CachedEvaluation implements ScriptEvaluationCallback {
+
+        private final String script;
+        private final List<XEvaluationCallback> callbacks = new ArrayList<>();
+        private ObjectFieldDefinitionValue result;
+
+        private CachedEvaluation(String script) {
+            this.script = script;
+        }
 
-            @Override
-            public void onScriptEvaluation(ScriptResultInfo info) {
-                xEvaluationCallback.evaluated(new ObjectFieldDefinitionValue(session, info.getResult(), AllIcons.Nodes.Function));
+        void addCallback(XEvaluationCallback callback) {
+            final ObjectFieldDefinitionValue value;
+            synchronized (this) {
+                if (result == null) {
+                    callbacks.add(callback);
+                    return;
+                }
+                value = result;
             }
-        });
-    }
+            callback.evaluated(value);
+        }
+
+        @Override
+        public void onScriptEvaluationException(RemoteDebugException exception) {
+            evaluated(new ObjectFieldDefinitionValue(session, exception.getException(), AllIcons.General.Error));
+        }
 
+        @Override
+        public void onScriptEvaluation(ScriptResultInfo info) {
+            evaluated(new ObjectFieldDefinitionValue(session, info.getResult(), AllIcons.Nodes.Function));
+        }
 
+        @Override
+        public void onError(String error) {
+            //Not a result of the script, the next request tries again
+            evaluations.remove(script, this);
+            for (XEvaluationCallback callback : takeCallbacks()) {
+                callback.errorOccurred(error);
+            }
+        }
 
+        private void evaluated(ObjectFieldDefinitionValue value) {
+            synchronized (this) {
+                result = value;
+            }
+            for (XEvaluationCallback callback : takeCallbacks()) {
+                callback.evaluated(value);
+            }
+        }
+
+        private synchronized List<XEvaluationCallback> takeCallbacks() {
+            final List<XEvaluationCallback> waiting = new ArrayList<>(callbacks);
+            callbacks.clear();
+            return waiting;
+        }
+    }
 }
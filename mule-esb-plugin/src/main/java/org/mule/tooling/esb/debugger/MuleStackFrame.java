@@ -18,6 +18,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.debugger.session.MuleDebuggerSession;
 import org.mule.tooling.esb.util.MuleConfigUtils;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 public class MuleStackFrame extends XStackFrame
 {
@@ -27,6 +28,12 @@ public class MuleStackFrame extends XStackFrame
     @Nullable
     private ObjectFieldDefinition exceptionThrown;
     private final XmlTag tag;
+    //Watches are evaluated once per frame, a new suspend creates a new frame
+    private final MuleScriptEvaluator evaluator;
+    //Only the frame the session stopped at is shown on suspend, the latency of the others is not measured
+    private final boolean topFrame;
+    private final long created = System.nanoTime();
+    private boolean childrenComputed;
 
     public MuleStackFrame(@NotNull Project project, @NotNull MuleDebuggerSession session, MuleMessageInfo muleMessageInfo)
     {
@@ -35,11 +42,21 @@ public class MuleStackFrame extends XStackFrame
 
     public MuleStackFrame(@NotNull Project project, MuleDebuggerSession session, MuleMessageInfo muleMessageInfo, @Nullable ObjectFieldDefinition exceptionThrown)
     {
+        this(project, session, muleMessageInfo, exceptionThrown, true);
+    }
+
+    public MuleStackFrame(@NotNull Project project, MuleDebuggerSession session, MuleMessageInfo muleMessageInfo, @Nullable ObjectFieldDefinition exceptionThrown, boolean topFrame)
+    {
+        this.topFrame = topFrame;
         this.session = session;
         this.muleMessageInfo = muleMessageInfo;
         this.exceptionThrown = exceptionThrown;
-        this.tag = MuleConfigUtils.getTagAt(project, muleMessageInfo.getMessageProcessorInfo().getPath());
+        final String path = muleMessageInfo.getMessageProcessorInfo().getPath();
+        final long resolving = System.nanoTime();
+        this.tag = session.getPathResolver().getTagAt(path);
+        session.getLatencyRecorder().record(DebuggerLatencyRecorder.Phase.PATH_RESOLUTION, resolving, path);
         this.position = MuleConfigUtils.createPositionByElement(tag);
+        this.evaluator = new MuleScriptEvaluator(session);
     }
 
     @Nullable
@@ -59,7 +76,7 @@ public class MuleStackFrame extends XStackFrame
     @Override
     public XDebuggerEvaluator getEvaluator()
     {
-        return new MuleScriptEvaluator(session);
+        return evaluator;
     }
 
     @Override
@@ -83,6 +100,12 @@ public class MuleStackFrame extends XStackFrame
         children.add("Inbound Properties", new MapOfObjectFieldDefinitionValue(this.session, this.muleMessageInfo.getInboundProperties(), AllIcons.Nodes.Parameter));
         children.add("OutboundProperties", new MapOfObjectFieldDefinitionValue(this.session, this.muleMessageInfo.getOutboundProperties(), AllIcons.Nodes.Parameter));
         node.addChildren(children, true);
+        if (topFrame && !childrenComputed)
+        {
+            //Time from the frame being created until the variables view shows its values
+            childrenComputed = true;
+            session.getLatencyRecorder().record(DebuggerLatencyRecorder.Phase.FIRST_CHILDREN, created, null);
+        }
     }
 
 }
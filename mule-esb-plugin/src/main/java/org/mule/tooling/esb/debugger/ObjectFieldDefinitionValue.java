@@ -1,12 +1,16 @@
 package org.mule.tooling.esb.debugger;
 
+import com.intellij.openapi.editor.DefaultLanguageHighlighterColors;
+import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiClass;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.PlatformIcons;
 import com.intellij.xdebugger.frame.*;
+import com.intellij.xdebugger.frame.presentation.XValuePresentation;
 import com.mulesoft.mule.debugger.response.ObjectFieldDefinition;
 import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.esb.debugger.session.InnerFieldsCallback;
 import org.mule.tooling.esb.debugger.session.MuleDebuggerSession;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
@@ -15,10 +19,18 @@ import java.util.List;
 
 
 public class ObjectFieldDefinitionValue extends XValue {
+    //Values that changed since the previous step
+    private static final TextAttributesKey CHANGED_VALUE = TextAttributesKey.createTextAttributesKey("MULE_DEBUGGER_CHANGED_VALUE", DefaultLanguageHighlighterColors.HIGHLIGHTED_REFERENCE);
+
     private MuleDebuggerSession session;
     private ObjectFieldDefinition fieldDefinition;
     private Icon icon;
 
+    private static final int CHILDREN_PAGE_SIZE = 100;
+    private volatile List<ObjectFieldDefinition> children;
+    private volatile XCompositeNode childrenNode;
+    private volatile int childrenShown;
+
     public ObjectFieldDefinitionValue(MuleDebuggerSession session, ObjectFieldDefinition fieldDefinition, Icon icon) {
         this.session = session;
         this.fieldDefinition = fieldDefinition;
@@ -28,7 +40,23 @@ public class ObjectFieldDefinitionValue extends XValue {
     @Override
     public void computePresentation(@NotNull XValueNode node, @NotNull XValuePlace xValuePlace) {
         final List<ObjectFieldDefinition> innerElements = fieldDefinition.getInnerElements();
-        node.setPresentation(icon, fieldDefinition.getClassName(), "'" + String.valueOf(fieldDefinition.getValue()) + "'", !innerElements.isEmpty() || fieldDefinition.isHasUnloadedChildren());
+        final boolean hasChildren = !innerElements.isEmpty() || fieldDefinition.isHasUnloadedChildren();
+        final String value = "'" + String.valueOf(fieldDefinition.getValue()) + "'";
+        if (session.getSnapshotStore().isChanged(fieldDefinition)) {
+            node.setPresentation(icon, new XValuePresentation() {
+                @Override
+                public String getType() {
+                    return fieldDefinition.getClassName();
+                }
+
+                @Override
+                public void renderValue(@NotNull XValueTextRenderer renderer) {
+                    renderer.renderValue(value, CHANGED_VALUE);
+                }
+            }, hasChildren);
+        } else {
+            node.setPresentation(icon, fieldDefinition.getClassName(), value, hasChildren);
+        }
     }
 
     @Override
@@ -51,19 +79,45 @@ public class ObjectFieldDefinitionValue extends XValue {
 
     @Override
     public void computeChildren(@NotNull XCompositeNode node) {
-        final XValueChildrenList list = new XValueChildrenList();
-        if (fieldDefinition.isHasUnloadedChildren()) {
-            final List<ObjectFieldDefinition> innerElements = session.loadInnerFields(fieldDefinition);
-            for (ObjectFieldDefinition innerElement : innerElements) {
-                list.add(innerElement.getName(), new ObjectFieldDefinitionValue(session, innerElement, PlatformIcons.FIELD_ICON));
-            }
+        if (node != childrenNode) {
+            //A new node starts from the first page, "more" on the same node continues where the last page ended
+            childrenNode = node;
+            childrenShown = 0;
+        }
+        if (children != null) {
+            addNextPage(node);
+        } else if (fieldDefinition.isHasUnloadedChildren()) {
+            session.loadInnerFields(fieldDefinition, new InnerFieldsCallback() {
+                @Override
+                public void onInnerFieldsLoaded(List<ObjectFieldDefinition> innerFields) {
+                    children = innerFields;
+                    if (!node.isObsolete()) {
+                        addNextPage(node);
+                    }
+                }
+
+                @Override
+                public void onError(String message) {
+                    node.setErrorMessage(message);
+                }
+            });
         } else {
-            final List<ObjectFieldDefinition> innerElements = fieldDefinition.getInnerElements();
-            for (ObjectFieldDefinition innerElement : innerElements) {
-                list.add(innerElement.getName(), new ObjectFieldDefinitionValue(session, innerElement, PlatformIcons.FIELD_ICON));
-            }
+            children = fieldDefinition.getInnerElements();
+            addNextPage(node);
+        }
+    }
+
+    private void addNextPage(@NotNull XCompositeNode node) {
+        final XValueChildrenList list = new XValueChildrenList();
+        final int end = Math.min(childrenShown + CHILDREN_PAGE_SIZE, children.size());
+        for (ObjectFieldDefinition innerElement : children.subList(childrenShown, end)) {
+            list.add(innerElement.getName(), new ObjectFieldDefinitionValue(session, innerElement, PlatformIcons.FIELD_ICON));
+        }
+        childrenShown = end;
+        final int remaining = children.size() - end;
+        node.addChildren(list, remaining == 0);
+        if (remaining > 0) {
+            node.tooManyChildren(remaining);
         }
-        node.addChildren(list, false);
-        super.computeChildren(node);
     }
 }
@@ -25,7 +25,7 @@ public class WeaveIntegrationStackFrame extends XStackFrame
     private List<ObjectFieldDefinition> frame;
     private Project project;
     private MuleDebuggerSession session;
-
+    private final MuleScriptEvaluator evaluator;
 
     public WeaveIntegrationStackFrame(Project project, MuleDebuggerSession session, String path, String internalPosition, @Nullable List<ObjectFieldDefinition> frame)
     {
@@ -33,8 +33,9 @@ public class WeaveIntegrationStackFrame extends XStackFrame
         this.project = project;
         this.session = session;
         this.frame = frame;
-        final XmlTag tag = MuleConfigUtils.getTagAt(project, path);
+        final XmlTag tag = session.getPathResolver().getTagAt(path);
         this.position = MuleConfigUtils.createPositionByElement(tag);
+        this.evaluator = new MuleScriptEvaluator(session);
     }
 
     @Nullable
@@ -53,7 +54,7 @@ public class WeaveIntegrationStackFrame extends XStackFrame
     @Override
     public XDebuggerEvaluator getEvaluator()
     {
-        return new MuleScriptEvaluator(session);
+        return evaluator;
     }
 
     @Override
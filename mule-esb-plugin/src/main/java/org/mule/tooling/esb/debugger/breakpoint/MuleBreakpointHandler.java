@@ -1,6 +1,10 @@
 package org.mule.tooling.esb.debugger.breakpoint;
 
 
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.Computable;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.xdebugger.breakpoints.XBreakpointHandler;
 import com.intellij.xdebugger.breakpoints.XBreakpointProperties;
 import com.intellij.xdebugger.breakpoints.XLineBreakpoint;
@@ -10,14 +14,38 @@ import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.debugger.session.MuleDebuggerSession;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Sends the breakpoint changes to the runtime in batches. The changes that arrive within {@link #BATCH_DELAY} of each
+ * other, as on session start or when muting all the breakpoints, are resolved to Mule paths concurrently and sent in
+ * a single add and a single remove request. Only one batch is in flight at a time, the changes that arrive meanwhile
+ * go in the next one.
+ */
 public class MuleBreakpointHandler extends XBreakpointHandler<XLineBreakpoint<XBreakpointProperties>>
 {
+    private static final Logger LOG = Logger.getInstance(MuleBreakpointHandler.class);
+
+    private static final long BATCH_DELAY = 50;
 
     private Map<String, String> modulesToAppsMap;
     private MuleDebuggerSession debuggerManager;
 
+    //Pending changes in arrival order, true to add the breakpoint and false to remove it
+    private final Map<XLineBreakpoint<XBreakpointProperties>, Boolean> pendingChanges = new LinkedHashMap<>();
+    //What was sent for each breakpoint, removing it then needs no resolution and matches what the runtime has
+    private final Map<XLineBreakpoint<XBreakpointProperties>, Breakpoint> sentBreakpoints = new ConcurrentHashMap<>();
+    //Set from the moment a flush is scheduled until it has sent its batch
+    private Future<?> pendingFlush;
+    private boolean stopped;
+
     public MuleBreakpointHandler(MuleDebuggerSession debuggerManager, @Nullable Map<String, String>modulesToAppsMap)
     {
         super(MuleBreakpointType.class);
@@ -28,17 +56,129 @@ public class MuleBreakpointHandler extends XBreakpointHandler<XLineBreakpoint<XB
     @Override
     public void registerBreakpoint(@NotNull XLineBreakpoint<XBreakpointProperties> xBreakpoint)
     {
-        //TODO Here get map from the debuggerManager and pass to the toMuleBreakpoint
-        final Breakpoint breakpoint = MuleConfigUtils.toMuleBreakpoint(debuggerManager.getProject(), xBreakpoint, modulesToAppsMap);
-        System.out.println("breakpoint added = " + breakpoint.getApplicationName() + "  , path  " + breakpoint.getPath());
-        debuggerManager.addBreakpoint(breakpoint);
+        enqueue(xBreakpoint, true);
     }
 
     @Override
     public void unregisterBreakpoint(@NotNull XLineBreakpoint<XBreakpointProperties> xBreakpoint, boolean temporary)
     {
-        final Breakpoint breakpoint = MuleConfigUtils.toMuleBreakpoint(debuggerManager.getProject(), xBreakpoint, modulesToAppsMap);
-        System.out.println("breakpoint removed = " + breakpoint.getApplicationName() + "  , path  " + breakpoint.getPath());
-        debuggerManager.removeBreakpoint(breakpoint);
+        enqueue(xBreakpoint, false);
+    }
+
+    private void enqueue(XLineBreakpoint<XBreakpointProperties> xBreakpoint, boolean add)
+    {
+        synchronized (pendingChanges)
+        {
+            //Only the last change of a breakpoint counts, but it goes after the ones that came meanwhile
+            pendingChanges.remove(xBreakpoint);
+            pendingChanges.put(xBreakpoint, add);
+            if (pendingFlush == null && !stopped)
+            {
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Drops the changes not sent yet, to be called when the session stops.
+     */
+    public void stop()
+    {
+        synchronized (pendingChanges)
+        {
+            stopped = true;
+            pendingChanges.clear();
+            if (pendingFlush != null)
+            {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+        }
+    }
+
+    private void scheduleFlush()
+    {
+        pendingFlush = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::flush, BATCH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush()
+    {
+        try
+        {
+            sendPendingChanges();
+        }
+        finally
+        {
+            synchronized (pendingChanges)
+            {
+                //The changes that came while this batch was resolved go in the next one
+                if (!stopped && !pendingChanges.isEmpty())
+                {
+                    scheduleFlush();
+                }
+                else
+                {
+                    pendingFlush = null;
+                }
+            }
+        }
+    }
+
+    private void sendPendingChanges()
+    {
+        final Map<XLineBreakpoint<XBreakpointProperties>, Boolean> changes;
+        synchronized (pendingChanges)
+        {
+            changes = new LinkedHashMap<>(pendingChanges);
+            pendingChanges.clear();
+        }
+
+        final List<Breakpoint> removed = new ArrayList<>();
+        final Map<XLineBreakpoint<XBreakpointProperties>, Future<Breakpoint>> resolving = new LinkedHashMap<>();
+        for (Map.Entry<XLineBreakpoint<XBreakpointProperties>, Boolean> change : changes.entrySet())
+        {
+            final XLineBreakpoint<XBreakpointProperties> xBreakpoint = change.getKey();
+            if (change.getValue())
+            {
+                resolving.put(xBreakpoint, AppExecutorUtil.getAppExecutorService().submit(() -> toMuleBreakpoint(xBreakpoint)));
+            }
+            else
+            {
+                final Breakpoint sent = sentBreakpoints.remove(xBreakpoint);
+                if (sent != null)
+                {
+                    removed.add(sent);
+                }
+            }
+        }
+
+        final List<Breakpoint> added = new ArrayList<>();
+        for (Map.Entry<XLineBreakpoint<XBreakpointProperties>, Future<Breakpoint>> resolved : resolving.entrySet())
+        {
+            try
+            {
+                final Breakpoint breakpoint = resolved.getValue().get();
+                final Breakpoint previous = sentBreakpoints.put(resolved.getKey(), breakpoint);
+                //Changing the condition of a breakpoint unregisters and registers it again
+                if (previous != null && !previous.equals(breakpoint))
+                {
+                    removed.add(previous);
+                }
+                added.add(breakpoint);
+            }
+            catch (InterruptedException | ExecutionException e)
+            {
+                LOG.warn("Unable to resolve the breakpoint " + resolved.getKey(), e);
+            }
+        }
+
+        debuggerManager.removeBreakpoints(removed);
+        debuggerManager.addBreakpoints(added);
+    }
+
+    private Breakpoint toMuleBreakpoint(XLineBreakpoint<XBreakpointProperties> xBreakpoint)
+    {
+        return ApplicationManager.getApplication().runReadAction((Computable<Breakpoint>) () ->
+                MuleConfigUtils.toMuleBreakpoint(debuggerManager.getProject(), xBreakpoint, modulesToAppsMap, debuggerManager.getPathResolver()::getMulePath));
     }
 }
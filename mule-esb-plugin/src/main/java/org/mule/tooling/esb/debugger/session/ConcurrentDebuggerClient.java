@@ -0,0 +1,34 @@
+package org.mule.tooling.esb.debugger.session;
+
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.mulesoft.mule.debugger.client.DebuggerClient;
+import com.mulesoft.mule.debugger.client.DebuggerConnection;
+import com.mulesoft.mule.debugger.client.IDebuggerResponseCallback;
+import com.mulesoft.mule.debugger.request.IDebuggerRequest;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link DebuggerClient} whose callbacks can be registered while its reader thread answers others. The bundled client
+ * keeps them in a plain HashMap that the sending thread fills and the "Debugger Client" thread reads and empties
+ * without any lock, so a request sent while a response arrives could corrupt the map or never find its callback.
+ * The map is replaced with a concurrent one when the client is created.
+ */
+public class ConcurrentDebuggerClient extends DebuggerClient {
+
+  private static final Logger LOG = Logger.getInstance(ConcurrentDebuggerClient.class);
+
+  public ConcurrentDebuggerClient(@NotNull String host, int port) {
+    super(new DebuggerConnection(host, port));
+    try {
+      final Field handler = DebuggerClient.class.getDeclaredField("handler");
+      handler.setAccessible(true);
+      handler.set(this, new ConcurrentHashMap<IDebuggerRequest, IDebuggerResponseCallback>());
+    } catch (ReflectiveOperationException | SecurityException e) {
+      LOG.warn("Unable to make the callbacks of the Mule debugger client thread safe", e);
+    }
+  }
+}
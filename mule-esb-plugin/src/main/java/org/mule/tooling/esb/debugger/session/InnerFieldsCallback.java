@@ -0,0 +1,13 @@
+package org.mule.tooling.esb.debugger.session;
+
+
+import com.mulesoft.mule.debugger.response.ObjectFieldDefinition;
+
+import java.util.List;
+
+public interface InnerFieldsCallback {
+
+    void onInnerFieldsLoaded(List<ObjectFieldDefinition> innerFields);
+
+    void onError(String message);
+}
@@ -0,0 +1,75 @@
+package org.mule.tooling.esb.debugger.session;
+
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.xml.XmlTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the mapping between message processor paths (<code>/flow/processors/3/1</code>) and their tags
+ * for the life of a debugger session. Both directions are dropped as soon as the PSI is modified,
+ * since any edit may shift processor indexes.
+ */
+public class MessageProcessorPathResolver {
+
+  private final Project project;
+  private final Map<String, SmartPsiElementPointer<XmlTag>> tagsByPath = new ConcurrentHashMap<>();
+  private final Map<XmlTag, String> pathsByTag = new ConcurrentHashMap<>();
+  private volatile long modificationCount = -1;
+
+  public MessageProcessorPathResolver(@NotNull Project project) {
+    this.project = project;
+  }
+
+  @Nullable
+  public XmlTag getTagAt(@NotNull String path) {
+    checkModifications();
+    final SmartPsiElementPointer<XmlTag> pointer = tagsByPath.get(path);
+    XmlTag tag = pointer != null ? pointer.getElement() : null;
+    if (tag == null || !tag.isValid()) {
+      tag = MuleConfigUtils.getTagAt(project, path);
+      if (tag != null) {
+        //Only this direction, the lookup falls back to nearby tags so the path may not be the tag's own path
+        tagsByPath.put(path, createPointer(tag));
+      }
+    }
+    return tag;
+  }
+
+  @NotNull
+  public String getMulePath(@NotNull XmlTag tag) {
+    checkModifications();
+    String path = pathsByTag.get(tag);
+    if (path == null) {
+      path = MuleConfigUtils.getMulePath(tag);
+      tagsByPath.put(path, createPointer(tag));
+      pathsByTag.put(tag, path);
+    }
+    return path;
+  }
+
+  public void clear() {
+    tagsByPath.clear();
+    pathsByTag.clear();
+  }
+
+  private SmartPsiElementPointer<XmlTag> createPointer(XmlTag tag) {
+    return SmartPointerManager.getInstance(project).createSmartPsiElementPointer(tag);
+  }
+
+  private void checkModifications() {
+    final long currentCount = PsiModificationTracker.SERVICE.getInstance(project).getModificationCount();
+    if (currentCount != modificationCount) {
+      clear();
+      modificationCount = currentCount;
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package org.mule.tooling.esb.debugger.session;
+
+
+import com.mulesoft.mule.debugger.response.MuleMessageInfo;
+import com.mulesoft.mule.debugger.response.ObjectFieldDefinition;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps what was seen of the fields of a message across the steps of a debugger session, by field path, so a field whose
+ * value differs from the previous step is marked as changed. The value of an object whose children are not sent is
+ * only its string form, often Class@hash, which stays the same when the object is modified in place, so such a change
+ * is not marked. Inner fields are not kept for the same reason, they are requested on every step. Everything is
+ * dropped when the session stops at another message.
+ */
+public class MessageSnapshotStore {
+
+  private final Map<String, FieldState> states = new HashMap<>();
+  private String messageRootId;
+  private long snapshot;
+
+  /**
+   * Starts the snapshot of the message the runtime stopped at. Fields are compared with the previous snapshot from now on.
+   */
+  public synchronized void startSnapshot(@Nullable MuleMessageInfo muleMessageInfo) {
+    final String rootId = muleMessageInfo != null ? muleMessageInfo.getMessageRootId() : null;
+    if (rootId == null || !rootId.equals(messageRootId)) {
+      states.clear();
+    }
+    messageRootId = rootId;
+    snapshot++;
+  }
+
+  /**
+   * Returns true if the value of the field differs from the one it had in the previous snapshot.
+   */
+  public synchronized boolean isChanged(@NotNull ObjectFieldDefinition field) {
+    final FieldState state = getState(field);
+    return state != null && state.changed;
+  }
+
+  public synchronized void clear() {
+    states.clear();
+    messageRootId = null;
+  }
+
+  @Nullable
+  private FieldState getState(@NotNull ObjectFieldDefinition field) {
+    if (field.getPath() == null) {
+      return null;
+    }
+    final String key = field.getPath().toString();
+    final String fingerprint = fingerprint(field);
+    FieldState state = states.get(key);
+    if (state == null) {
+      state = new FieldState(fingerprint, snapshot, false);
+      states.put(key, state);
+    } else if (!state.fingerprint.equals(fingerprint)) {
+      //Another value at the same path, within the same snapshot it is not a change of the field
+      state = new FieldState(fingerprint, snapshot, state.snapshot != snapshot);
+      states.put(key, state);
+    } else if (state.snapshot != snapshot) {
+      state.snapshot = snapshot;
+      state.changed = false;
+    }
+    return state;
+  }
+
+  private static String fingerprint(ObjectFieldDefinition field) {
+    final StringBuilder builder = new StringBuilder();
+    appendFingerprint(field, builder);
+    return builder.toString();
+  }
+
+  private static void appendFingerprint(ObjectFieldDefinition field, StringBuilder builder) {
+    builder.append(field.getName()).append('\0')
+        .append(field.getClassName()).append('\0')
+        .append(Objects.toString(field.getValue())).append('\0')
+        .append(field.isHasUnloadedChildren()).append('[');
+    final List<ObjectFieldDefinition> innerElements = field.getInnerElements();
+    if (innerElements != null) {
+      for (ObjectFieldDefinition innerElement : innerElements) {
+        appendFingerprint(innerElement, builder);
+      }
+    }
+    builder.append(']');
+  }
+
+  private static class FieldState {
+    private final String fingerprint;
+    private long snapshot;
+    private boolean changed;
+
+    private FieldState(String fingerprint, long snapshot, boolean changed) {
+      this.fingerprint = fingerprint;
+      this.snapshot = snapshot;
+      this.changed = changed;
+    }
+  }
+}
@@ -2,11 +2,14 @@ package org.mule.tooling.esb.debugger.session;
 
 
 import com.intellij.execution.ExecutionException;
+import com.intellij.execution.process.ProcessHandler;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Pair;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.mulesoft.mule.debugger.client.DebuggerClient;
-import com.mulesoft.mule.debugger.client.DebuggerConnection;
 import com.mulesoft.mule.debugger.client.DefaultDebuggerResponseCallback;
+import com.mulesoft.mule.debugger.client.IDebuggerResponseCallback;
 import com.mulesoft.mule.debugger.commons.Breakpoint;
 import com.mulesoft.mule.debugger.exception.RemoteDebugException;
 import com.mulesoft.mule.debugger.response.MuleMessageInfo;
@@ -14,85 +17,251 @@ import com.mulesoft.mule.debugger.response.ObjectFieldDefinition;
 import com.mulesoft.mule.debugger.response.OnExecutionStoppedEvent;
 import com.mulesoft.mule.debugger.response.ScriptResultInfo;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.dw.debug.latency.DebuggerLatencyRecorder;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class MuleDebuggerSession extends DefaultDebuggerResponseCallback {
 
-  private static final int MAX_RETRIES = 30;
-  private DebuggerClient debuggerClient;
-
-  private boolean isConnected = false;
-  private List<Breakpoint> breakpoints = new ArrayList<>();
+  private static final long INITIAL_CONNECT_DELAY = 50;
+  private static final long MAX_CONNECT_DELAY = 1000;
+  private static final long CONNECT_TIMEOUT = 60 * 1000;
+  //A dropped connection is retried for this long before the session gives up
+  private static final long RECONNECT_TIMEOUT = 5 * 60 * 1000;
+  //A connection that does not answer a probe before the next one is taken as dropped. A network blip usually leaves it
+  //half open, so no read ever fails.
+  private static final long PROBE_INTERVAL = 15;
+  //Evaluations requested within this delay, like the watches of a frame, are sent back to back
+  private static final long EVAL_BATCH_DELAY = 10;
+  private volatile DebuggerClient debuggerClient;
+  private String host;
+  private int port;
+
+  private volatile boolean isConnected = false;
+  //Every breakpoint set in the IDE, so they can be sent again when the session reconnects
+  private final Set<Breakpoint> breakpoints = new LinkedHashSet<>();
   private List<MessageReceivedListener> messageReceivedListeners = new ArrayList<>();
-  private boolean exceptionBreakpoint = true;
+  private volatile boolean exceptionBreakpoint = true;
   private Project project;
+  private MessageProcessorPathResolver pathResolver;
+  private final MessageSnapshotStore snapshotStore = new MessageSnapshotStore();
+  private final DebuggerLatencyRecorder latencyRecorder = new DebuggerLatencyRecorder();
+  private volatile Future<?> pendingConnect;
+  private volatile Future<?> prober;
+  private volatile boolean probeAnswered;
+  private volatile boolean disconnected = false;
+  //The process of the runtime launched by the IDE, a dropped connection is only opened again while it runs
+  private volatile ProcessHandler processHandler;
+  //Requests sent on the current client that the runtime did not answer yet
+  private final Set<PendingRequest> pendingRequests = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  //Every request to the runtime goes through this single thread. The requests are numbered with a static non atomic
+  //counter, so two requests created at once could get the same id. It is shared by all the sessions since that counter
+  //is. The callbacks are registered here while the client's own thread reads them, see ConcurrentDebuggerClient.
+  private static final ExecutorService CLIENT_EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor("Mule Debugger Client", 1);
+  //Runs the listeners and the evaluation callbacks in order, so a slow one never blocks the debugger client thread
+  private final ExecutorService dispatcher = AppExecutorUtil.createBoundedApplicationPoolExecutor("Mule Debugger Dispatcher", 1);
+  private final List<Pair<String, ScriptEvaluationCallback>> pendingEvaluations = new ArrayList<>();
 
   public MuleDebuggerSession(Project project) {
     this.project = project;
+    this.pathResolver = new MessageProcessorPathResolver(project);
   }
 
   public void connectAsync(@NotNull String host, @NotNull int port) {
-    debuggerClient = new DebuggerClient(new DebuggerConnection(host, port));
-    ApplicationManager.getApplication().executeOnPooledThread(() -> {
-      connect(debuggerClient, true, 0);
-    });
+    this.host = host;
+    this.port = port;
+    debuggerClient = new ConcurrentDebuggerClient(host, port);
+    scheduleConnect(debuggerClient, INITIAL_CONNECT_DELAY, System.currentTimeMillis() + CONNECT_TIMEOUT);
   }
 
   public void connect(@NotNull String host, @NotNull int port) throws ExecutionException {
-    debuggerClient = new DebuggerClient(new DebuggerConnection(host, port));
-    boolean connect = connect(debuggerClient, false, 0);
+    this.host = host;
+    this.port = port;
+    debuggerClient = new ConcurrentDebuggerClient(host, port);
+    boolean connect = connect(debuggerClient);
     if (!connect) {
       throw new ExecutionException("Unable to open port " + port + " with host " + host);
     }
   }
 
+  /**
+   * Sets the process of the runtime launched by the IDE, so its normal exit is not taken for a dropped connection. A
+   * remote session has none: the blip that drops this connection drops the Java debugger as well, so the session keeps
+   * trying until it is stopped or {@link #RECONNECT_TIMEOUT} runs out.
+   */
+  public void setProcessHandler(@Nullable ProcessHandler processHandler) {
+    this.processHandler = processHandler;
+  }
+
   private DebuggerClient getDebuggerClient() {
     return debuggerClient;
   }
 
-  private boolean connect(DebuggerClient debuggerClient, boolean retry, int retries) {
-    try {
-      debuggerClient.start(this);
-    } catch (IOException e) {
-      if (retry) {
-        if (retries < MAX_RETRIES) {
-          try {
-            Thread.sleep(1000L * 2);
-            connect(debuggerClient, retry, retries + 1);
-          } catch (InterruptedException e1) {
-            return false;
-          }
+  /**
+   * Queues a request on the client of this session, see {@link #CLIENT_EXECUTOR}.
+   */
+  private void send(Consumer<DebuggerClient> request) {
+    final DebuggerClient client = getDebuggerClient();
+    CLIENT_EXECUTOR.execute(() -> request.accept(client));
+  }
 
+  /**
+   * Tries to connect after the given delay. While the runtime is not listening yet the next try is scheduled with
+   * twice the delay, up to a second, so the session attaches right after the port opens and no thread sleeps meanwhile.
+   */
+  private void scheduleConnect(DebuggerClient debuggerClient, long delay, long deadline) {
+    pendingConnect = AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+      if (!isStopping() && !connect(debuggerClient)) {
+        if (System.currentTimeMillis() < deadline) {
+          scheduleConnect(debuggerClient, Math.min(delay * 2, MAX_CONNECT_DELAY), deadline);
         } else {
-          return false;
+          onError("Unable to connect to the Mule debugger");
         }
-      } else {
-        return false;
       }
+    }, delay, TimeUnit.MILLISECONDS);
+  }
+
+  private boolean connect(DebuggerClient debuggerClient) {
+    try {
+      debuggerClient.start(eventsOf(debuggerClient));
+    } catch (IOException e) {
+      return false;
     }
     return true;
   }
 
-  public void disconnect() {
-    if (isConnected) {
-      try {
-        System.out.println("MuleDebuggerSession.disconnect");
-        getDebuggerClient().disconnect();
-      } catch (Exception e) {
-        //ignore
+  /**
+   * Hands the events of the given client to this session while it is the current one. A replaced client still reports
+   * the end of its connection, which must not close the one opened after it. Any event is an answer to the probe.
+   */
+  private IDebuggerResponseCallback eventsOf(DebuggerClient client) {
+    return (IDebuggerResponseCallback) Proxy.newProxyInstance(IDebuggerResponseCallback.class.getClassLoader(), new Class[]{IDebuggerResponseCallback.class}, (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class) {
+        return method.invoke(this, args);
+      }
+      if (client == debuggerClient) {
+        probeAnswered = true;
+        try {
+          method.invoke(this, args);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
       }
+      return null;
+    });
+  }
+
+  /**
+   * Sends a request that changes nothing, adding no breakpoints, on the idle connection. If the previous one got no
+   * answer since, the connection is taken as dropped.
+   */
+  private void probe() {
+    if (!isConnected) {
+      return;
+    }
+    if (!probeAnswered) {
+      connectionLost();
+      return;
+    }
+    probeAnswered = false;
+    send(client -> client.addBreakpoints());
+  }
+
+  private void stopProbing() {
+    final Future<?> probing = prober;
+    if (probing != null) {
+      probing.cancel(false);
     }
   }
 
+  /**
+   * Returns true once the session was closed or the debugged runtime is exiting.
+   */
+  private boolean isStopping() {
+    final ProcessHandler handler = processHandler;
+    return disconnected || handler != null && (handler.isProcessTerminating() || handler.isProcessTerminated());
+  }
+
+  /**
+   * Disconnects the client after the requests already queued on it, then fails those the runtime did not answer yet
+   * since their answers never arrive.
+   */
+  private void closeClient(DebuggerClient client, boolean connected, String error) {
+    CLIENT_EXECUTOR.execute(() -> {
+      if (connected) {
+        try {
+          client.disconnect();
+        } catch (Exception e) {
+          //ignore
+        }
+      }
+      //After every request queued on this client
+      for (PendingRequest request : new ArrayList<>(pendingRequests)) {
+        if (request.complete()) {
+          dispatcher.execute(() -> request.failed(error));
+        }
+      }
+    });
+  }
+
+  /**
+   * Opens a new connection to the same runtime, unless the session was closed or the runtime launched by the IDE exits. The
+   * breakpoints and the exception breakpoint are sent again once it connects, see {@link #onConnected()}.
+   */
+  private synchronized void connectionLost() {
+    if (!isConnected) {
+      return;
+    }
+    isConnected = false;
+    stopProbing();
+    snapshotStore.clear();
+    closeClient(debuggerClient, true, "Debugger connection lost");
+    if (!isStopping()) {
+      debuggerClient = new ConcurrentDebuggerClient(host, port);
+      scheduleConnect(debuggerClient, INITIAL_CONNECT_DELAY, System.currentTimeMillis() + RECONNECT_TIMEOUT);
+    }
+  }
+
+  public void disconnect() {
+    disconnected = true;
+    snapshotStore.clear();
+    final Future<?> connecting = pendingConnect;
+    if (connecting != null) {
+      connecting.cancel(false);
+    }
+    stopProbing();
+    closeClient(getDebuggerClient(), isConnected, "Debugger is not connected");
+  }
+
   public Project getProject() {
     return project;
   }
 
+  public MessageProcessorPathResolver getPathResolver() {
+    return pathResolver;
+  }
+
+  public MessageSnapshotStore getSnapshotStore() {
+    return snapshotStore;
+  }
+
+  public DebuggerLatencyRecorder getLatencyRecorder() {
+    return latencyRecorder;
+  }
+
   public boolean isExceptionBreakpoint() {
     return exceptionBreakpoint;
   }
@@ -103,41 +272,50 @@ public class MuleDebuggerSession extends DefaultDebuggerResponseCallback {
 
   public void nextStep() {
     if (isConnected) {
-      getDebuggerClient().nextStep();
+      latencyRecorder.stepRequested();
+      send(DebuggerClient::nextStep);
     }
   }
 
   public void resume() {
     if (isConnected) {
-      getDebuggerClient().resume();
+      latencyRecorder.resumed();
+      send(DebuggerClient::resume);
     }
   }
 
   public void runToCursor(String path) {
     if (isConnected) {
-      getDebuggerClient().runToProcessor(path);
+      latencyRecorder.stepRequested();
+      send(client -> client.runToProcessor(path));
     }
   }
 
   public void enableExceptionBreakpoint() {
     if (isConnected) {
-      getDebuggerClient().enableExceptionBreakpoint(true);
+      send(client -> client.enableExceptionBreakpoint(true));
     }
     exceptionBreakpoint = true;
   }
 
   public void disableExceptionBreakpoint() {
     if (isConnected) {
-      getDebuggerClient().enableExceptionBreakpoint(false);
+      send(client -> client.enableExceptionBreakpoint(false));
     }
     exceptionBreakpoint = false;
   }
 
-  public void addBreakpoint(Breakpoint muleBreakpoint) {
+  /**
+   * Sends the given breakpoints in one request. They are kept as well, to be sent on every (re)connection.
+   */
+  public synchronized void addBreakpoints(List<Breakpoint> muleBreakpoints) {
+    if (muleBreakpoints.isEmpty()) {
+      return;
+    }
+    breakpoints.addAll(muleBreakpoints);
     if (isConnected) {
-      getDebuggerClient().addBreakpoints(muleBreakpoint);
-    } else {
-      breakpoints.add(muleBreakpoint);
+      final Breakpoint[] added = muleBreakpoints.toArray(new Breakpoint[muleBreakpoints.size()]);
+      send(client -> client.addBreakpoints(added));
     }
   }
 
@@ -146,31 +324,47 @@ public class MuleDebuggerSession extends DefaultDebuggerResponseCallback {
     System.out.println("MuleDebuggerSession.onError " + error);
   }
 
-  public void removeBreakpoint(Breakpoint muleBreakpoint) {
+  public synchronized void removeBreakpoints(List<Breakpoint> muleBreakpoints) {
+    if (muleBreakpoints.isEmpty()) {
+      return;
+    }
+    breakpoints.removeAll(muleBreakpoints);
     if (isConnected) {
-      getDebuggerClient().removeBreakpoints(muleBreakpoint);
-    } else {
-      breakpoints.remove(muleBreakpoint);
+      final Breakpoint[] removed = muleBreakpoints.toArray(new Breakpoint[muleBreakpoints.size()]);
+      send(client -> client.removeBreakpoints(removed));
     }
   }
 
-  public List<ObjectFieldDefinition> loadInnerFields(ObjectFieldDefinition fieldDefinition) {
-    final List<ObjectFieldDefinition> result = new ArrayList<>();
-    final CountDownLatch countDownLatch = new CountDownLatch(1);
-    getDebuggerClient().loadInnerFields(fieldDefinition.getPath(), new DefaultDebuggerResponseCallback() {
+  /**
+   * Requests the inner fields of the given field. The callback is invoked from the debugger client thread once
+   * the runtime answers, so the caller never blocks waiting for it.
+   */
+  public void loadInnerFields(ObjectFieldDefinition fieldDefinition, final InnerFieldsCallback callback) {
+    if (!isConnected) {
+      callback.onError("Debugger is not connected");
+      return;
+    }
+    final PendingRequest request = new PendingRequest() {
       @Override
       public void onInnerFieldsLoaded(ObjectFieldDefinition innerFields) {
-        result.addAll(innerFields.getInnerElements());
-        countDownLatch.countDown();
+        if (complete()) {
+          callback.onInnerFieldsLoaded(innerFields.getInnerElements());
+        }
       }
-    });
 
-    try {
-      countDownLatch.await(3, TimeUnit.MINUTES);
-    } catch (InterruptedException ignored) {
+      @Override
+      public void onError(String error) {
+        if (complete()) {
+          callback.onError(error);
+        }
+      }
 
-    }
-    return result;
+      @Override
+      void failed(String error) {
+        callback.onError(error);
+      }
+    };
+    send(client -> client.loadInnerFields(fieldDefinition.getPath(), request));
   }
 
   public void addMessageReceivedListener(MessageReceivedListener listener) {
@@ -179,64 +373,158 @@ public class MuleDebuggerSession extends DefaultDebuggerResponseCallback {
 
   @Override
   public void onMuleMessageArrived(final MuleMessageInfo muleMessageInfo) {
-    ApplicationManager.getApplication().runReadAction(() -> {
+    final long received = latencyRecorder.eventReceived();
+    dispatcher.execute(() -> ApplicationManager.getApplication().runReadAction(() -> {
+      latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVENT_DISPATCH, received, null);
+      snapshotStore.startSnapshot(muleMessageInfo);
       for (MessageReceivedListener listener : messageReceivedListeners) {
         listener.onNewMessageReceived(muleMessageInfo);
       }
-    });
+    }));
 
   }
 
   @Override
   public void onExceptionThrown(final MuleMessageInfo muleMessageInfo, final ObjectFieldDefinition exceptionThrown) {
-    ApplicationManager.getApplication().runReadAction(() -> {
+    final long received = latencyRecorder.eventReceived();
+    dispatcher.execute(() -> ApplicationManager.getApplication().runReadAction(() -> {
+      latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVENT_DISPATCH, received, null);
+      snapshotStore.startSnapshot(muleMessageInfo);
       for (MessageReceivedListener listener : messageReceivedListeners) {
         listener.onExceptionThrown(muleMessageInfo, exceptionThrown);
       }
-    });
+    }));
   }
 
 
   @Override
-  public void onConnected() {
+  public synchronized void onConnected() {
     isConnected = true;
-    //Lets add the breakpoints that where added before it is connected
-    for (Breakpoint breakpoint : breakpoints) {
-      addBreakpoint(breakpoint);
+    probeAnswered = true;
+    prober = AppExecutorUtil.getAppScheduledExecutorService().scheduleWithFixedDelay(this::probe, PROBE_INTERVAL, PROBE_INTERVAL, TimeUnit.SECONDS);
+    //Lets add the breakpoints that where added before it connected, or before the connection dropped, all in one request
+    if (!breakpoints.isEmpty()) {
+      final Breakpoint[] pending = breakpoints.toArray(new Breakpoint[breakpoints.size()]);
+      send(client -> client.addBreakpoints(pending));
     }
-    getDebuggerClient().enableExceptionBreakpoint(exceptionBreakpoint);
-    breakpoints.clear();
+    final boolean enableExceptionBreakpoint = exceptionBreakpoint;
+    send(client -> client.enableExceptionBreakpoint(enableExceptionBreakpoint));
   }
 
   @Override
   public void onExecutionStopped(final OnExecutionStoppedEvent stoppedEvent) {
-    ApplicationManager.getApplication().runReadAction(() -> {
+    final long received = latencyRecorder.eventReceived();
+    dispatcher.execute(() -> ApplicationManager.getApplication().runReadAction(() -> {
+      latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVENT_DISPATCH, received, null);
+      snapshotStore.startSnapshot(stoppedEvent.getMuleMessageInfo());
       final List<MessageReceivedListener> listeners = messageReceivedListeners;
       for (MessageReceivedListener listener : listeners) {
         listener.onExecutionStopped(stoppedEvent.getMuleMessageInfo(), stoppedEvent.getFrame(), stoppedEvent.getPath(), stoppedEvent.getInternalPosition());
       }
-    });
+    }));
   }
 
   @Override
   public void onExit() {
-    isConnected = false;
-    getDebuggerClient().disconnect();
+    //The client reports a dropped socket as an exit as well, the runtime exiting is told apart by its process
+    connectionLost();
   }
 
+  /**
+   * Evaluates the script in the current frame. The scripts requested together are queued in one go without waiting for
+   * each other's result, and the callback is invoked from the dispatcher thread.
+   */
   public void eval(String script, final ScriptEvaluationCallback callback) {
-    if (isConnected) {
-      getDebuggerClient().executeScript(script, new DefaultDebuggerResponseCallback() {
+    final long start = System.nanoTime();
+    final ScriptEvaluationCallback timedCallback = new ScriptEvaluationCallback() {
+      @Override
+      public void onScriptEvaluationException(RemoteDebugException exception) {
+        latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVALUATION, start, script);
+        callback.onScriptEvaluationException(exception);
+      }
+
+      @Override
+      public void onScriptEvaluation(ScriptResultInfo info) {
+        latencyRecorder.record(DebuggerLatencyRecorder.Phase.EVALUATION, start, script);
+        callback.onScriptEvaluation(info);
+      }
+
+      @Override
+      public void onError(String error) {
+        callback.onError(error);
+      }
+    };
+    synchronized (pendingEvaluations) {
+      pendingEvaluations.add(Pair.create(script, timedCallback));
+      if (pendingEvaluations.size() == 1) {
+        AppExecutorUtil.getAppScheduledExecutorService().schedule(this::sendEvaluations, EVAL_BATCH_DELAY, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  private void sendEvaluations() {
+    final List<Pair<String, ScriptEvaluationCallback>> batch;
+    synchronized (pendingEvaluations) {
+      batch = new ArrayList<>(pendingEvaluations);
+      pendingEvaluations.clear();
+    }
+    for (Pair<String, ScriptEvaluationCallback> evaluation : batch) {
+      final ScriptEvaluationCallback callback = evaluation.second;
+      if (!isConnected) {
+        dispatcher.execute(() -> callback.onError("Debugger is not connected"));
+        continue;
+      }
+      final PendingRequest request = new PendingRequest() {
         @Override
         public void onScriptEvaluationException(RemoteDebugException exception) {
-          callback.onScriptEvaluationException(exception);
+          if (complete()) {
+            dispatcher.execute(() -> callback.onScriptEvaluationException(exception));
+          }
         }
 
         @Override
         public void onScriptEvaluation(ScriptResultInfo info) {
-          callback.onScriptEvaluation(info);
+          if (complete()) {
+            dispatcher.execute(() -> callback.onScriptEvaluation(info));
+          }
         }
-      });
+
+        @Override
+        public void onError(String error) {
+          if (complete()) {
+            dispatcher.execute(() -> callback.onError(error));
+          }
+        }
+
+        @Override
+        void failed(String error) {
+          callback.onError(error);
+        }
+      };
+      send(client -> client.executeScript(evaluation.first, request));
     }
   }
+
+  /**
+   * A request waiting for the runtime to answer. It is answered once, either by the runtime or with an error when the
+   * client it was sent on is closed, see {@link #closeClient(DebuggerClient, boolean, String)}.
+   */
+  private abstract class PendingRequest extends DefaultDebuggerResponseCallback {
+
+    PendingRequest() {
+      pendingRequests.add(this);
+    }
+
+    /**
+     * Returns true the first time only, when the request was still pending.
+     */
+    boolean complete() {
+      return pendingRequests.remove(this);
+    }
+
+    /**
+     * Called from the dispatcher thread when the client is closed before the runtime answered.
+     */
+    abstract void failed(String error);
+  }
 }
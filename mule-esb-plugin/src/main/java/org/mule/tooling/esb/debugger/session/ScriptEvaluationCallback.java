@@ -9,4 +9,6 @@ public interface ScriptEvaluationCallback {
     void onScriptEvaluationException(RemoteDebugException exception);
 
     void onScriptEvaluation(ScriptResultInfo info);
+
+    void onError(String error);
 }
@@ -13,26 +13,42 @@ import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.util.concurrency.Semaphore;
 import com.intellij.util.execution.ParametersListUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.idea.maven.execution.MavenRunner;
 import org.jetbrains.idea.maven.execution.MavenRunnerParameters;
+import org.jetbrains.idea.maven.model.MavenArtifact;
 import org.jetbrains.idea.maven.model.MavenExplicitProfiles;
+import org.jetbrains.idea.maven.model.MavenId;
 import org.jetbrains.idea.maven.project.MavenProject;
 import org.jetbrains.idea.maven.project.MavenProjectsManager;
 import org.jetbrains.idea.maven.tasks.MavenBeforeRunTask;
 import org.jetbrains.idea.maven.tasks.TasksBundle;
 import org.mule.tooling.esb.launcher.configuration.MuleConfiguration;
+import org.mule.tooling.esb.util.MuleConfigUtils;
 import org.mule.tooling.esb.util.MuleIcons;
 
 import javax.swing.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public class MuleBeforeRunTasksProvider extends BeforeRunTaskProvider<MuleBeforeRunTask>
 {
     public static final Key<MavenBeforeRunTask> ID = Key.create("Mule.BeforeRunTask");
+    private static final Key<String> PACKAGED_FINGERPRINT_KEY = Key.create("Mule.PackagedFingerprint");
 
     @Override
     public Key getId()
@@ -93,63 +109,182 @@ public class MuleBeforeRunTasksProvider extends BeforeRunTaskProvider<MuleBefore
     @Override
     public boolean executeTask(DataContext dataContext, RunConfiguration runConfiguration, ExecutionEnvironment executionEnvironment, MuleBeforeRunTask muleBeforeRunTask)
     {
-        final Semaphore targetDone = new Semaphore();
-        final List<Boolean> results = new ArrayList<>();
-
         final Project project = executionEnvironment.getProject();
 
         MuleConfiguration muleConfiguration = (MuleConfiguration) runConfiguration;
 
         Module[] modules = muleConfiguration.getModules();
 
+        final List<Module> domains = new ArrayList<>();
+        final List<Module> apps = new ArrayList<>();
         for (Module nextModule : modules) {
-            //final MavenProject mavenProject = getMavenProject(runConfiguration, project);
+            if (MuleConfigUtils.isMuleDomainModule(nextModule))
+                domains.add(nextModule);
+            else
+                apps.add(nextModule);
+        }
+
+        try {
+            ApplicationManager.getApplication().invokeAndWait(() -> FileDocumentManager.getInstance().saveAllDocuments(), ModalityState.NON_MODAL);
+        } catch (Exception exeception) {
+            return false;
+        }
+
+        //Apps may depend on their domain, so every domain is packaged before the apps start
+        return packageModules(project, domains) && packageModules(project, apps);
+    }
+
+    /**
+     * Packages the given modules concurrently, one background maven run each, and waits for all of them.
+     * Modules whose inputs did not change since their last successful package are skipped, see {@link #computeFingerprint}.
+     */
+    private boolean packageModules(final Project project, List<Module> modules)
+    {
+        final Semaphore targetDone = new Semaphore();
+        final AtomicBoolean results = new AtomicBoolean(true);
+
+        final MavenProjectsManager projectsManager = MavenProjectsManager.getInstance(project);
+        for (final Module nextModule : modules) {
             final MavenProject mavenProject = getMavenProject(nextModule);
+            if (mavenProject == null) {
+                continue;
+            }
+            final String fingerprint = computeFingerprint(projectsManager, mavenProject);
+            if (fingerprint != null && fingerprint.equals(nextModule.getUserData(PACKAGED_FINGERPRINT_KEY)) && hasPackagedApp(mavenProject)) {
+                continue;
+            }
+            targetDone.down();
             try {
                 ApplicationManager.getApplication().invokeAndWait(new Runnable() {
                     public void run() {
-                        if (!project.isDisposed() && mavenProject != null) {
-                            FileDocumentManager.getInstance().saveAllDocuments();
-                            final MavenExplicitProfiles explicitProfiles = MavenProjectsManager.getInstance(project).getExplicitProfiles();
-                            final MavenRunner mavenRunner = MavenRunner.getInstance(project);
-                            targetDone.down();
-                            (new Task.Backgroundable(project, TasksBundle.message("maven.tasks.executing"), true) {
-                                public void run(@NotNull ProgressIndicator indicator) {
-                                    try {
-                                        MavenRunnerParameters params =
-                                                new MavenRunnerParameters(true, mavenProject.getDirectory(), ParametersListUtil.parse("package"), explicitProfiles.getEnabledProfiles(),
-                                                        explicitProfiles.getDisabledProfiles());
-                                        boolean result = mavenRunner.runBatch(Collections.singletonList(params), null, null, TasksBundle.message("maven.tasks.executing"), indicator);
-                                        results.add(result);
-                                    } finally {
-                                        targetDone.up();
+                        if (project.isDisposed()) {
+                            targetDone.up();
+                            return;
+                        }
+                        final MavenExplicitProfiles explicitProfiles = MavenProjectsManager.getInstance(project).getExplicitProfiles();
+                        final MavenRunner mavenRunner = MavenRunner.getInstance(project);
+                        (new Task.Backgroundable(project, TasksBundle.message("maven.tasks.executing"), true) {
+                            public void run(@NotNull ProgressIndicator indicator) {
+                                try {
+                                    MavenRunnerParameters params =
+                                            new MavenRunnerParameters(true, mavenProject.getDirectory(), ParametersListUtil.parse("package"), explicitProfiles.getEnabledProfiles(),
+                                                    explicitProfiles.getDisabledProfiles());
+                                    boolean result = mavenRunner.runBatch(Collections.singletonList(params), null, null, TasksBundle.message("maven.tasks.executing"), indicator);
+                                    //Only a successful package makes the fingerprint valid, a failed one is retried on the next launch
+                                    nextModule.putUserData(PACKAGED_FINGERPRINT_KEY, result ? fingerprint : null);
+                                    if (!result) {
+                                        results.set(false);
                                     }
+                                } finally {
+                                    targetDone.up();
                                 }
+                            }
 
-                                public boolean shouldStartInBackground() {
-                                    return MavenRunner.getInstance(project).getSettings().isRunMavenInBackground();
-                                }
+                            public boolean shouldStartInBackground() {
+                                return MavenRunner.getInstance(project).getSettings().isRunMavenInBackground();
+                            }
 
-                                public void processSentToBackground() {
-                                    MavenRunner.getInstance(project).getSettings().setRunMavenInBackground(true);
-                                }
-                            }).queue();
-                        }
+                            public void processSentToBackground() {
+                                MavenRunner.getInstance(project).getSettings().setRunMavenInBackground(true);
+                            }
+                        }).queue();
                     }
                 }, ModalityState.NON_MODAL);
             } catch (Exception exeception) {
+                targetDone.up();
+                targetDone.waitFor();
                 return false;
             }
-            targetDone.waitFor();
         }
+        targetDone.waitFor();
+
+        return results.get();
+    }
+
+    /**
+     * Returns a digest of everything the package of the module depends on, or null if it could not be computed:
+     * the pom and the files under src of the module and of the project modules it depends on, the poms of their
+     * parents, and the path, size and timestamp of every other resolved dependency (so a new SNAPSHOT is noticed).
+     */
+    @Nullable
+    private static String computeFingerprint(MavenProjectsManager manager, MavenProject mavenProject)
+    {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("MD5");
+            addProjectInputs(manager, mavenProject, digest, new HashSet<>());
+            return StringUtil.toHexString(digest.digest());
+        } catch (IOException | UncheckedIOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
 
-        boolean endResult = true;
+    private static void addProjectInputs(MavenProjectsManager manager, MavenProject mavenProject, MessageDigest digest, Set<MavenProject> visited) throws IOException
+    {
+        if (!visited.add(mavenProject)) {
+            return;
+        }
+        final Path baseDir = Paths.get(mavenProject.getDirectory());
+        final List<Path> files = new ArrayList<>();
+        files.add(Paths.get(mavenProject.getPath()));
+        final Path sources = baseDir.resolve("src");
+        if (Files.isDirectory(sources)) {
+            try (Stream<Path> walk = Files.walk(sources)) {
+                walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+            }
+        }
+        for (Path file : files) {
+            digest.update(file.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(file));
+        }
+        addParentPoms(manager, mavenProject, digest);
+        for (MavenArtifact dependency : mavenProject.getDependencies()) {
+            final MavenProject dependencyProject = manager.findProject(dependency);
+            if (dependencyProject != null) {
+                addProjectInputs(manager, dependencyProject, digest, visited);
+            } else {
+                addFileStamp(dependency.getFile(), digest);
+            }
+        }
+    }
 
-        for (Boolean nextResult : results) {
-            endResult = endResult && nextResult;
+    /**
+     * Adds the poms of the parent chain, from the project when the parent is one of its modules, from the local
+     * repository otherwise.
+     */
+    private static void addParentPoms(MavenProjectsManager manager, MavenProject mavenProject, MessageDigest digest) throws IOException
+    {
+        MavenId parentId = mavenProject.getParentId();
+        final Set<MavenId> visited = new HashSet<>();
+        while (parentId != null && visited.add(parentId)) {
+            final MavenProject parentProject = manager.findProject(parentId);
+            if (parentProject != null) {
+                final Path pom = Paths.get(parentProject.getPath());
+                digest.update(pom.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update(Files.readAllBytes(pom));
+                parentId = parentProject.getParentId();
+            } else {
+                addFileStamp(new File(manager.getLocalRepository(), getPomPath(parentId)), digest);
+                //The rest of an external chain is only seen through the version in the child pom
+                parentId = null;
+            }
         }
+    }
+
+    private static String getPomPath(MavenId id)
+    {
+        return StringUtil.notNullize(id.getGroupId()).replace('.', File.separatorChar) + File.separator + id.getArtifactId() + File.separator
+               + id.getVersion() + File.separator + id.getArtifactId() + "-" + id.getVersion() + ".pom";
+    }
 
-        return endResult;
+    private static void addFileStamp(File file, MessageDigest digest)
+    {
+        digest.update((file.getPath() + ":" + file.length() + ":" + file.lastModified()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean hasPackagedApp(MavenProject mavenProject)
+    {
+        final File[] zips = new File(mavenProject.getBuildDirectory()).listFiles((dir, name) -> name.endsWith("zip"));
+        return zips != null && zips.length > 0;
     }
 
     private MavenProject getMavenProject(Module module) { //RunConfiguration runConfiguration, Project project)
@@ -20,6 +20,7 @@ import org.mule.tooling.esb.launcher.configuration.runner.MuleRunnerCommandLineS
 import org.mule.tooling.esb.launcher.configuration.ui.MuleRunnerEditor;
 import org.mule.tooling.esb.sdk.MuleSdk;
 import org.mule.tooling.esb.util.MuleConfigUtils;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -33,10 +34,16 @@ public class MuleConfiguration extends ModuleBasedConfiguration implements Modul
     public static final String VM_ARGS_FIELD = PREFIX + "VmArgs";
     public static final String MULE_HOME_FIELD = PREFIX + "MuleHome";
     public static final String CLEAR_DATA_FIELD = PREFIX + "ClearData";
+    public static final String EXPLODED_DEPLOYMENT_FIELD = PREFIX + "ExplodedDeployment";
+    public static final String RELOAD_ON_SAVE_FIELD = PREFIX + "ReloadOnSave";
+    public static final String JVM_PROFILE_FIELD = PREFIX + "JvmProfile";
 
     private String vmArgs;
     private String muleHome;
     private String clearData;
+    private boolean explodedDeployment;
+    private boolean reloadOnSave;
+    private JvmProfile jvmProfile = JvmProfile.DEFAULT;
 
     private Module[] modules = new Module[] {};
 
@@ -71,6 +78,9 @@ public class MuleConfiguration extends ModuleBasedConfiguration implements Modul
         this.vmArgs = JDOMExternalizerUtil.readField(element, VM_ARGS_FIELD);
         this.muleHome = JDOMExternalizerUtil.readField(element, MULE_HOME_FIELD);
         this.clearData = JDOMExternalizerUtil.readField(element, CLEAR_DATA_FIELD);
+        this.explodedDeployment = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, EXPLODED_DEPLOYMENT_FIELD));
+        this.reloadOnSave = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, RELOAD_ON_SAVE_FIELD));
+        this.jvmProfile = JvmProfile.fromName(JDOMExternalizerUtil.readField(element, JVM_PROFILE_FIELD));
 
         getConfigurationModule().readExternal(element);
     }
@@ -83,6 +93,9 @@ public class MuleConfiguration extends ModuleBasedConfiguration implements Modul
         JDOMExternalizerUtil.writeField(element, VM_ARGS_FIELD, this.getVmArgs());
         JDOMExternalizerUtil.writeField(element, MULE_HOME_FIELD, this.getMuleHome());
         JDOMExternalizerUtil.writeField(element, CLEAR_DATA_FIELD, this.getClearData());
+        JDOMExternalizerUtil.writeField(element, EXPLODED_DEPLOYMENT_FIELD, String.valueOf(this.isExplodedDeployment()));
+        JDOMExternalizerUtil.writeField(element, RELOAD_ON_SAVE_FIELD, String.valueOf(this.isReloadOnSave()));
+        JDOMExternalizerUtil.writeField(element, JVM_PROFILE_FIELD, this.getJvmProfile().name());
 
         getConfigurationModule().writeExternal(element);
     }
@@ -149,6 +162,31 @@ public class MuleConfiguration extends ModuleBasedConfiguration implements Modul
         this.clearData = clearData;
     }
 
+    public boolean isExplodedDeployment() {
+        return explodedDeployment;
+    }
+
+    public void setExplodedDeployment(boolean explodedDeployment) {
+        this.explodedDeployment = explodedDeployment;
+    }
+
+    public boolean isReloadOnSave() {
+        return reloadOnSave;
+    }
+
+    public void setReloadOnSave(boolean reloadOnSave) {
+        this.reloadOnSave = reloadOnSave;
+    }
+
+    @NotNull
+    public JvmProfile getJvmProfile() {
+        return jvmProfile;
+    }
+
+    public void setJvmProfile(@NotNull JvmProfile jvmProfile) {
+        this.jvmProfile = jvmProfile;
+    }
+
     @NotNull
     @Override
     public Module[] getModules() {
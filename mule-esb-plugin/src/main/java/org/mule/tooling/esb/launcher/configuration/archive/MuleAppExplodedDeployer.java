@@ -0,0 +1,111 @@
+package org.mule.tooling.esb.launcher.configuration.archive;
+
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Deploys an application as an exploded directory instead of a zip. Only the files whose content changed are written,
+ * so Mule finds the same directory on the next launch and does not have to unzip and redeploy the whole application.
+ */
+public class MuleAppExplodedDeployer {
+
+    /**
+     * Makes the given directory match the content of the application zip.
+     *
+     * @return the number of files that were written or deleted
+     */
+    public static int deploy(@NotNull File appZip, @NotNull File appDir) throws IOException {
+        int changes = 0;
+        final Set<String> entries = new HashSet<>();
+        try (ZipFile zipFile = new ZipFile(appZip)) {
+            final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                final ZipEntry entry = zipEntries.nextElement();
+                final File target = new File(appDir, entry.getName());
+                if (!FileUtil.isAncestor(appDir, target, false)) {
+                    continue;
+                }
+                if (entry.isDirectory()) {
+                    FileUtil.createDirectory(target);
+                    continue;
+                }
+                entries.add(FileUtil.toSystemIndependentName(entry.getName()));
+                if (!isSameContent(target, entry.getSize(), entry.getCrc())) {
+                    try (InputStream in = zipFile.getInputStream(entry)) {
+                        write(in, target);
+                    }
+                    changes++;
+                }
+            }
+        }
+        changes += deleteRemoved(appDir, appDir, entries);
+        return changes;
+    }
+
+    /**
+     * Copies the source file over the target unless both already have the same content.
+     *
+     * @return true if the target was written
+     */
+    public static boolean copyIfChanged(@NotNull File source, @NotNull File target) throws IOException {
+        if (isSameContent(target, source.length(), crc(source))) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(source)) {
+            write(in, target);
+        }
+        return true;
+    }
+
+    private static boolean isSameContent(File target, long size, long crc) throws IOException {
+        return target.isFile() && size >= 0 && target.length() == size && (crc < 0 || crc(target) == crc);
+    }
+
+    private static long crc(File file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void write(InputStream in, File target) throws IOException {
+        FileUtil.createParentDirs(target);
+        try (OutputStream out = new FileOutputStream(target)) {
+            FileUtil.copy(in, out);
+        }
+    }
+
+    private static int deleteRemoved(File appDir, File dir, Set<String> entries) {
+        int deleted = 0;
+        final File[] children = dir.listFiles();
+        if (children == null) {
+            return deleted;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                deleted += deleteRemoved(appDir, child, entries);
+            } else {
+                final String relativePath = FileUtil.getRelativePath(appDir, child);
+                if (relativePath != null && !entries.contains(FileUtil.toSystemIndependentName(relativePath))) {
+                    FileUtil.delete(child);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,227 @@
+package org.mule.tooling.esb.launcher.configuration.runner;
+
+
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.esb.launcher.configuration.MuleConfiguration;
+import org.mule.tooling.esb.launcher.configuration.archive.MuleAppExplodedDeployer;
+import org.mule.tooling.esb.util.MuleConfigUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes the changed files of <code>src/main/app</code> into the apps deployed in a running Mule, and deletes the
+ * deployed copies of the files removed, moved or renamed away. Touching the
+ * <code>mule-deploy.properties</code> of an app makes Mule redeploy just that app in place, while the runtime and
+ * the other apps keep running.
+ */
+public class MuleAppReloader {
+
+    private static final Logger LOG = Logger.getInstance(MuleAppReloader.class);
+    private static final Key<List<MuleAppReloader>> RUNNING_KEY = Key.create("Mule.RunningAppReloaders");
+
+    private static final String APP_SOURCES = "src/main/app";
+    private static final String REDEPLOY_ANCHOR = "mule-deploy.properties";
+
+    private final File apps;
+    //App name to its src/main/app directory
+    private final Map<String, File> appSources = new HashMap<>();
+    //App name to the paths, relative to its sources, removed since the last reload
+    private final Map<String, Set<String>> removedPaths = new HashMap<>();
+
+    private MuleAppReloader(@NotNull File apps, @NotNull Module[] modules) {
+        this.apps = apps;
+        for (Module module : modules) {
+            if (MuleConfigUtils.isMuleDomainModule(module)) {
+                continue;
+            }
+            for (VirtualFile contentRoot : ModuleRootManager.getInstance(module).getContentRoots()) {
+                final VirtualFile sources = contentRoot.findFileByRelativePath(APP_SOURCES);
+                if (sources != null && sources.isDirectory()) {
+                    appSources.put(module.getName(), new File(sources.getPath()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tracks the apps of the given run until its process terminates. If the configuration asks for it, the apps are
+     * also reloaded every time one of their files is saved.
+     */
+    public static void register(@NotNull MuleConfiguration model, @NotNull ProcessHandler processHandler) {
+        final Project project = model.getProject();
+        final MuleAppReloader reloader = new MuleAppReloader(new File(model.getMuleHome(), "apps"), model.getModules());
+        final List<MuleAppReloader> running = getOrCreateRunning(project);
+        running.add(reloader);
+
+        //Also disposed with the project, in case it is closed while the process is still running
+        final Disposable disposable = Disposer.newDisposable();
+        Disposer.register(project, disposable);
+        //Removals are tracked even without reload on save, so a manual reload deletes them as well
+        project.getMessageBus().connect(disposable).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void before(@NotNull List<? extends VFileEvent> events) {
+            }
+
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                boolean changed = false;
+                for (VFileEvent event : events) {
+                    final String oldPath = getOldPath(event);
+                    if (oldPath != null && reloader.isAppSource(oldPath)) {
+                        reloader.removed(oldPath);
+                        changed = true;
+                    }
+                    if (!(event instanceof VFileDeleteEvent) && reloader.isAppSource(event.getPath())) {
+                        changed = true;
+                    }
+                }
+                if (changed && model.isReloadOnSave()) {
+                    ApplicationManager.getApplication().executeOnPooledThread(reloader::reload);
+                }
+            }
+        });
+        processHandler.addProcessListener(new ProcessAdapter() {
+            @Override
+            public void processTerminated(ProcessEvent event) {
+                running.remove(reloader);
+                Disposer.dispose(disposable);
+            }
+        });
+    }
+
+    @NotNull
+    public static List<MuleAppReloader> getRunning(@NotNull Project project) {
+        final List<MuleAppReloader> running = project.getUserData(RUNNING_KEY);
+        return running == null ? Collections.emptyList() : running;
+    }
+
+    @NotNull
+    private static synchronized List<MuleAppReloader> getOrCreateRunning(@NotNull Project project) {
+        List<MuleAppReloader> running = project.getUserData(RUNNING_KEY);
+        if (running == null) {
+            running = new CopyOnWriteArrayList<>();
+            project.putUserData(RUNNING_KEY, running);
+        }
+        return running;
+    }
+
+    /**
+     * Returns the path a file no longer has after the event: the deleted file, the source of a move or the old name
+     * of a rename.
+     */
+    @Nullable
+    private static String getOldPath(@NotNull VFileEvent event) {
+        if (event instanceof VFileDeleteEvent) {
+            return event.getPath();
+        }
+        if (event instanceof VFileMoveEvent) {
+            return ((VFileMoveEvent) event).getOldPath();
+        }
+        if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+            final VirtualFile parent = event.getFile().getParent();
+            return parent != null ? parent.getPath() + "/" + ((VFilePropertyChangeEvent) event).getOldValue() : null;
+        }
+        return null;
+    }
+
+    private synchronized void removed(@NotNull String path) {
+        for (Map.Entry<String, File> entry : appSources.entrySet()) {
+            final String relativePath = FileUtil.getRelativePath(entry.getValue().getPath(), path, '/');
+            if (relativePath != null && FileUtil.isAncestor(entry.getValue().getPath(), path, true)) {
+                removedPaths.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).add(relativePath);
+            }
+        }
+    }
+
+    private boolean isAppSource(@NotNull String path) {
+        for (File sources : appSources.values()) {
+            if (FileUtil.isAncestor(sources.getPath(), path, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the files that changed into the deployed apps, deletes the ones removed from the sources and triggers
+     * the redeploy of those apps.
+     *
+     * @return the names of the apps that were redeployed
+     */
+    @NotNull
+    public synchronized List<String> reload() {
+        final List<String> reloaded = new ArrayList<>();
+        for (Map.Entry<String, File> entry : appSources.entrySet()) {
+            final File appDir = new File(apps, entry.getKey());
+            if (!appDir.isDirectory()) {
+                //Not deployed (yet), Mule picks up the whole app when it deploys it
+                continue;
+            }
+            try {
+                final int deleted = deleteRemoved(entry.getKey(), appDir);
+                if (pushChanges(entry.getValue(), entry.getValue(), appDir) + deleted > 0) {
+                    new File(appDir, REDEPLOY_ANCHOR).setLastModified(System.currentTimeMillis());
+                    reloaded.add(entry.getKey());
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to reload " + entry.getKey(), e);
+            }
+        }
+        return reloaded;
+    }
+
+    private int deleteRemoved(String appName, File appDir) {
+        int deleted = 0;
+        final Set<String> removed = removedPaths.remove(appName);
+        if (removed == null) {
+            return deleted;
+        }
+        for (String relativePath : removed) {
+            final File target = new File(appDir, relativePath);
+            //A file moved back in the meantime is copied again right after
+            if (target.exists() && FileUtil.delete(target)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static int pushChanges(File sourcesRoot, File dir, File appDir) throws IOException {
+        int changed = 0;
+        final File[] children = dir.listFiles();
+        if (children == null) {
+            return changed;
+        }
+        for (File child : children) {
+            if (child.isDirectory()) {
+                changed += pushChanges(sourcesRoot, child, appDir);
+            } else {
+                final String relativePath = FileUtil.getRelativePath(sourcesRoot, child);
+                if (relativePath != null && MuleAppExplodedDeployer.copyIfChanged(child, new File(appDir, relativePath))) {
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+}
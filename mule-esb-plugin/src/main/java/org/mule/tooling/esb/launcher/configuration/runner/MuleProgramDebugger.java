@@ -119,6 +119,8 @@ public class MuleProgramDebugger extends GenericDebuggerRunner {
 
                         //Init Mule Debug Process
                         final MuleRunnerState muleRunnerState = (MuleRunnerState) state;
+                        //The runtime exiting ends the session, it is not taken for a dropped connection
+                        muleDebuggerSession.setProcessHandler(executionResult.getProcessHandler());
                         muleDebuggerSession.connectAsync(muleRunnerState.getHost(), muleRunnerState.getPort());
                         final MuleDebugProcess muleDebugProcess = new MuleDebugProcess(session, muleDebuggerSession, executionResult, null);
 
@@ -127,11 +127,8 @@ public class MuleRemoteDebugger extends GenericDebuggerRunner {
 
                         //Init Mule Debug Process
                         final MuleRunnerState muleRunnerState = (MuleRunnerState) state;
-                        try {
-                            muleDebuggerSession.connect(muleRunnerState.getHost(), muleRunnerState.getPort());
-                        } catch (ExecutionException e) {
-                            e.printStackTrace();
-                        }
+                        //Connects while the Java debugger attaches, instead of blocking the session start on it
+                        muleDebuggerSession.connectAsync(muleRunnerState.getHost(), muleRunnerState.getPort());
                         Map<String, String> modulesToAppsMap = null;
                         if (configuration.isCustomAppsMap())
                             modulesToAppsMap = configuration.getModulesToAppsMap();
@@ -15,14 +15,17 @@ import com.intellij.openapi.util.io.FileUtil;
 import org.codehaus.plexus.util.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.mule.tooling.esb.launcher.configuration.MuleConfiguration;
+import org.mule.tooling.esb.launcher.configuration.archive.MuleAppExplodedDeployer;
 import org.mule.tooling.esb.launcher.configuration.archive.MuleAppManager;
 import org.mule.tooling.esb.launcher.configuration.ui.MuleRunnerEditor;
-import org.mule.tooling.esb.sdk.MuleClassPath;
+import org.mule.tooling.esb.sdk.MuleSdkManager;
 import org.mule.tooling.esb.util.MuleConfigUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class MuleRunnerCommandLineState extends JavaCommandLineState implements MuleRunnerState {
 
@@ -55,8 +58,8 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
 //        }
 
         final String muleHome = model.getMuleHome();
-        final MuleClassPath muleClassPath = new MuleClassPath(new File(muleHome));
-        final List<File> urLs = muleClassPath.getJars();
+        final MuleSdkManager sdkManager = MuleSdkManager.getInstance();
+        final List<File> urLs = sdkManager.getClassPath(muleHome);
         for (File jar : urLs) {
             javaParams.getClassPath().add(jar);
         }
@@ -83,16 +86,8 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
             javaParams.getVMParametersList().add("-Dmule.debug.suspend=true");
         }
 
-        javaParams.getVMParametersList().add("-Xms1024m");
-        javaParams.getVMParametersList().add("-Xmx1024m");
-        javaParams.getVMParametersList().add("-XX:PermSize=256m");
-        javaParams.getVMParametersList().add("-XX:MaxPermSize=256m");
-        javaParams.getVMParametersList().add("-XX:+HeapDumpOnOutOfMemoryError");
-        javaParams.getVMParametersList().add("-XX:+AlwaysPreTouch");
-        javaParams.getVMParametersList().add("-XX:NewSize=512m");
-        javaParams.getVMParametersList().add("-XX:MaxNewSize=512m");
-        javaParams.getVMParametersList().add("-XX:MaxTenuringThreshold=8");
-
+        //Heap and GC flags of the selected profile, the VM args below can still override them
+        javaParams.getVMParametersList().addAll(model.getJvmProfile().getVmParameters(javaParams.getJdk()));
 
         // VM Args
         String vmArgs = this.getVmArgs();
@@ -113,7 +108,9 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
     @Override
     protected OSProcessHandler startProcess() throws ExecutionException {
         deployApp();
-        return super.startProcess();
+        final OSProcessHandler processHandler = super.startProcess();
+        MuleAppReloader.register(model, processHandler);
+        return processHandler;
     }
 
     private boolean isClearAppData() {
@@ -139,14 +136,18 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
 
         boolean clearData = isClearAppData();
 
-        try {
-            FileUtils.cleanDirectory(apps);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
         Module[] modules = model.getModules();
 
+        if (model.isExplodedDeployment()) {
+            removeOtherApps(apps, modules);
+        } else {
+            try {
+                FileUtils.cleanDirectory(apps);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
         for (Module m : modules) {
             if (clearData) {
                 File moduleAppData = new File(muleAppData, m.getName());
@@ -155,12 +156,16 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
 
             //Get the zip and deploy it
             final File file = MuleAppManager.getInstance(model.getProject()).getMuleApp(m);
+            final File deployDir = MuleConfigUtils.isMuleDomainModule(m) ? domains : apps;
 
             try {
-                if (MuleConfigUtils.isMuleDomainModule(m))
-                    FileUtil.copy(file, new File(domains, m.getName() + ".zip"));
-                else
-                    FileUtil.copy(file, new File(apps, m.getName() + ".zip"));
+                if (model.isExplodedDeployment()) {
+                    //A zip left by a previous launch would be redeployed over the exploded directory
+                    FileUtil.delete(new File(deployDir, m.getName() + ".zip"));
+                    MuleAppExplodedDeployer.deploy(file, new File(deployDir, m.getName()));
+                } else {
+                    FileUtil.copy(file, new File(deployDir, m.getName() + ".zip"));
+                }
                 //FileUtil.copy(file, new File(apps, model.getProject().getName() + ".zip"));
             } catch (IOException e) {
                 e.printStackTrace();
@@ -168,6 +173,26 @@ public class MuleRunnerCommandLineState extends JavaCommandLineState implements
         }
     }
 
+    /**
+     * Removes everything from the apps directory but the exploded applications of the given modules, which are
+     * updated in place.
+     */
+    private void removeOtherApps(File apps, Module[] modules) {
+        final Set<String> keep = new HashSet<>();
+        for (Module m : modules) {
+            keep.add(m.getName());
+        }
+        final File[] deployed = apps.listFiles();
+        if (deployed == null) {
+            return;
+        }
+        for (File file : deployed) {
+            if (!keep.contains(file.getName())) {
+                FileUtil.delete(file);
+            }
+        }
+    }
+
     /**
      * Retrieves the "VM Args" parameter
      *
@@ -1,6 +1,7 @@
 package org.mule.tooling.esb.launcher.configuration.ui;
 
 import org.mule.tooling.esb.sdk.ui.MuleSdkComboSelection;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 
 import javax.swing.*;
 
@@ -15,11 +16,14 @@ public class MuleRunnerConfPanel
     private JRadioButton alwaysRadioButton;
     private JRadioButton neverRadioButton;
     private JRadioButton promptRadioButton;
+    private JCheckBox explodedDeploymentCheckBox;
+    private JCheckBox reloadOnSaveCheckBox;
+    private JComboBox<JvmProfile> jvmProfileCombo;
 
 
     public MuleRunnerConfPanel()
     {
-
+        jvmProfileCombo.setModel(new DefaultComboBoxModel<>(JvmProfile.values()));
     }
 
     public JPanel getMainPanel()
@@ -50,4 +54,16 @@ public class MuleRunnerConfPanel
     public JRadioButton getPromptRadioButton() {
         return promptRadioButton;
     }
+
+    public JCheckBox getExplodedDeploymentCheckBox() {
+        return explodedDeploymentCheckBox;
+    }
+
+    public JCheckBox getReloadOnSaveCheckBox() {
+        return reloadOnSaveCheckBox;
+    }
+
+    public JComboBox<JvmProfile> getJvmProfileCombo() {
+        return jvmProfileCombo;
+    }
 }
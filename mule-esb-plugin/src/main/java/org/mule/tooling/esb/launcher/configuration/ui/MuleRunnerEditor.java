@@ -8,6 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import org.mule.tooling.esb.launcher.configuration.MuleConfiguration;
 import org.mule.tooling.esb.sdk.MuleSdkManager;
 import org.mule.tooling.esb.sdk.MuleSdk;
+import org.mule.tooling.lang.dw.util.JvmProfile;
 
 import javax.swing.*;
 import java.util.Collection;
@@ -65,6 +66,10 @@ public class MuleRunnerEditor extends SettingsEditor<MuleConfiguration>
             selectedButton = this.configurationPanel.getNeverRadioButton();
 
         selectedButton.setSelected(true);
+
+        this.configurationPanel.getExplodedDeploymentCheckBox().setSelected(runnerConfiguration.isExplodedDeployment());
+        this.configurationPanel.getReloadOnSaveCheckBox().setSelected(runnerConfiguration.isReloadOnSave());
+        this.configurationPanel.getJvmProfileCombo().setSelectedItem(runnerConfiguration.getJvmProfile());
     }
 
     /**
@@ -87,6 +92,11 @@ public class MuleRunnerEditor extends SettingsEditor<MuleConfiguration>
         else
             runnerConfiguration.setClearData(CLEAR_DATA_PROMPT);
 
+        runnerConfiguration.setExplodedDeployment(this.configurationPanel.getExplodedDeploymentCheckBox().isSelected());
+        runnerConfiguration.setReloadOnSave(this.configurationPanel.getReloadOnSaveCheckBox().isSelected());
+        final Object jvmProfile = this.configurationPanel.getJvmProfileCombo().getSelectedItem();
+        runnerConfiguration.setJvmProfile(jvmProfile instanceof JvmProfile ? (JvmProfile) jvmProfile : JvmProfile.DEFAULT);
+
         Module[] selectedModules = this.configurationPanel.getModulesList().getSelectedModules(runnerConfiguration.getProject());
 //        final Module selectedModule = this.configurationPanel.getModuleCombo().getSelectedModule();
         if (selectedModules != null)
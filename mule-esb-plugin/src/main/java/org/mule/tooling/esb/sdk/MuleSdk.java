@@ -30,7 +30,6 @@ import org.mule.tooling.esb.framework.MuleLibraryKind;
 
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -87,34 +86,7 @@ public class MuleSdk {
 
     @NotNull
     public List<File> getLibraryEntries() {
-        final File muleHome = new File(this.muleHome);
-        final List<File> muleClassPath = new MuleClassPath(muleHome).getJars();
-        List<File> result = new ArrayList<>();
-        for (File file : muleClassPath) {
-            //No directory
-            if (file.isFile()) {
-                result.add(file);
-            }
-        }
-
-        //We add the plugins lib
-        final File pluginsFolder = new File(muleHome, "plugins");
-        final File[] files = pluginsFolder.listFiles();
-        if (files != null) {
-            for (File plugin : files) {
-                //Exclude debugger
-                if (!plugin.getName().contains("debugger")) {
-                    final File lib = new File(plugin, "lib");
-                    if (lib.exists()) {
-                        final File[] libJars = lib.listFiles();
-                        for (File jar : libJars) {
-                            result.add(jar);
-                        }
-                    }
-                }
-            }
-        }
-        return result;
+        return MuleSdkManager.getInstance().getLibraryEntries(muleHome);
     }
 
     @Override
@@ -16,7 +16,10 @@
 package org.mule.tooling.esb.sdk;
 
 import com.intellij.openapi.components.ServiceManager;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.File;
+import java.util.List;
 import java.util.Set;
 
 
@@ -37,4 +40,17 @@ public abstract class MuleSdkManager
     public abstract MuleSdk findFromVersion(String muleVersion);
 
     public abstract void removeSdk(MuleSdk selectedObject);
+
+    /**
+     * Returns the folders and jars of the Mule container classpath. The scan is cached until one of the lib folders
+     * of the Mule home changes.
+     */
+    @NotNull
+    public abstract List<File> getClassPath(@NotNull String muleHome);
+
+    /**
+     * Returns the jars of the container and of the bundled plugins, but the debugger, to be used as a library.
+     */
+    @NotNull
+    public abstract List<File> getLibraryEntries(@NotNull String muleHome);
 }
@@ -23,11 +23,18 @@ import com.intellij.util.xmlb.SkipDefaultValuesSerializationFilters;
 import com.intellij.util.xmlb.XmlSerializationException;
 import com.intellij.util.xmlb.XmlSerializer;
 import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @State(
         name = "MuleSdk",
@@ -37,9 +44,12 @@ public class MuleSdkManagerImpl extends MuleSdkManager implements PersistentStat
 {
     private static final Logger LOG = Logger.getInstance("#MuleSdkManagerImpl");
 
+    private static final String PLUGINS_DIR = "plugins";
 
     private Set<MuleSdk> sdks = new HashSet<>();
 
+    private final Map<String, MuleHomeScan> scans = new ConcurrentHashMap<>();
+
     @Nullable
     @Override
     public Element getState()
@@ -125,4 +135,105 @@ public class MuleSdkManagerImpl extends MuleSdkManager implements PersistentStat
     {
         sdks.remove(selectedObject);
     }
+
+    @NotNull
+    @Override
+    public List<File> getClassPath(@NotNull String muleHome)
+    {
+        return new ArrayList<>(getScan(muleHome).classPath);
+    }
+
+    @NotNull
+    @Override
+    public List<File> getLibraryEntries(@NotNull String muleHome)
+    {
+        return new ArrayList<>(getScan(muleHome).libraryEntries);
+    }
+
+    @NotNull
+    private MuleHomeScan getScan(@NotNull String muleHome)
+    {
+        MuleHomeScan scan = scans.get(muleHome);
+        if (scan == null || !scan.isUpToDate())
+        {
+            scan = MuleHomeScan.scan(new File(muleHome));
+            scans.put(muleHome, scan);
+        }
+        return scan;
+    }
+
+    /**
+     * The classpath and library jars of a Mule home, along with the modification time of every folder they were
+     * listed from. Adding, removing or renaming a jar changes the time of its folder.
+     */
+    private static class MuleHomeScan
+    {
+        private final Map<File, Long> folderStamps;
+        private final List<File> classPath;
+        private final List<File> libraryEntries;
+
+        private MuleHomeScan(Map<File, Long> folderStamps, List<File> classPath, List<File> libraryEntries)
+        {
+            this.folderStamps = folderStamps;
+            this.classPath = classPath;
+            this.libraryEntries = libraryEntries;
+        }
+
+        boolean isUpToDate()
+        {
+            for (Map.Entry<File, Long> stamp : folderStamps.entrySet())
+            {
+                if (stamp.getKey().lastModified() != stamp.getValue())
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static MuleHomeScan scan(File muleHome)
+        {
+            final Map<File, Long> folderStamps = new HashMap<>();
+            folderStamps.put(muleHome, muleHome.lastModified());
+            for (String muleFolder : MuleSdk.MULE_JARS_FOLDERS)
+            {
+                final File folder = new File(muleHome, muleFolder);
+                folderStamps.put(folder, folder.lastModified());
+            }
+            final List<File> classPath = Collections.unmodifiableList(new MuleClassPath(muleHome).getJars());
+
+            final List<File> libraryEntries = new ArrayList<>();
+            for (File file : classPath)
+            {
+                //No directory
+                if (file.isFile())
+                {
+                    libraryEntries.add(file);
+                }
+            }
+
+            //We add the plugins lib
+            final File pluginsFolder = new File(muleHome, PLUGINS_DIR);
+            folderStamps.put(pluginsFolder, pluginsFolder.lastModified());
+            final File[] plugins = pluginsFolder.listFiles();
+            if (plugins != null)
+            {
+                for (File plugin : plugins)
+                {
+                    //Exclude debugger
+                    if (!plugin.getName().contains("debugger"))
+                    {
+                        final File lib = new File(plugin, "lib");
+                        folderStamps.put(lib, lib.lastModified());
+                        final File[] libJars = lib.listFiles();
+                        if (libJars != null)
+                        {
+                            Collections.addAll(libraryEntries, libJars);
+                        }
+                    }
+                }
+            }
+            return new MuleHomeScan(folderStamps, classPath, Collections.unmodifiableList(libraryEntries));
+        }
+    }
 }
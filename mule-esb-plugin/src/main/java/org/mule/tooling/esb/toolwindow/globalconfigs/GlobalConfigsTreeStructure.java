@@ -5,34 +5,26 @@ import com.intellij.ide.projectView.PresentationData;
 import com.intellij.ide.util.treeView.IndexComparator;
 import com.intellij.ide.util.treeView.smartTree.SmartTreeStructure;
 import com.intellij.ide.util.treeView.smartTree.TreeModel;
-import com.intellij.openapi.fileTypes.StdFileTypes;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ui.util.CompositeAppearance;
 import com.intellij.openapi.util.Disposer;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.ui.SimpleTextAttributes;
 import com.intellij.ui.treeStructure.*;
-import com.intellij.util.xml.DomFileElement;
-import com.intellij.util.xml.DomManager;
-import org.mule.tooling.esb.config.model.Mule;
 import org.mule.tooling.esb.util.MuleConfigUtils;
-import org.mule.tooling.esb.util.MuleElementType;
 import org.mule.tooling.esb.util.MuleIcons;
 
 import java.awt.*;
 import java.awt.event.InputEvent;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Created by eberman on 4/20/17.
@@ -74,38 +66,14 @@ public class GlobalConfigsTreeStructure extends SimpleTreeStructure {
         protected SimpleNode[] buildChildren() {
             List<SimpleNode> myConfigNodes = new ArrayList<>();
 
-            final DomManager manager = DomManager.getDomManager(myProject);
-
-            final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, GlobalSearchScope.projectScope(myProject));
-
-            for (VirtualFile file : files) {
-
-                final PsiFile xmlFile = PsiManager.getInstance(myProject).findFile(file);
-
-                if (xmlFile != null) {
-//                    PsiDirectory directory = xmlFile.getParent();
-//                    Module module = ModuleUtilCore.findModuleForPsiElement((PsiElement) (directory == null ? xmlFile : directory));
-
-                    if (MuleConfigUtils.isMuleFile(xmlFile)) {
-                        final DomFileElement<Mule> fileElement = manager.getFileElement((XmlFile) xmlFile, Mule.class);
-
-                        if (fileElement != null) {
-                            final Mule rootElement = fileElement.getRootElement();
-                            XmlTag[] subTags = rootElement.getXmlTag().getSubTags();
-
-                            for (XmlTag nextTag : subTags) {
-                                MuleElementType muleElementType = MuleConfigUtils.getMuleElementTypeFromXmlElement(nextTag);
+            //A config file gets a node if it has at least one connector
+            final Set<PsiFile> configFiles = new LinkedHashSet<>();
+            for (XmlTag globalConfig : MuleConfigUtils.getGlobalConfigs(myProject, GlobalSearchScope.projectScope(myProject))) {
+                configFiles.add(globalConfig.getContainingFile());
+            }
 
-                                if (muleElementType != null && //This is a global config file and it has at least one connector
-                                        (MuleElementType.CONFIG.equals(muleElementType) || (MuleElementType.TRANSPORT_CONNECTOR.equals(muleElementType)))) {
-                                    MuleConfigNode nextConfigNode = new MuleConfigNode(this, xmlFile);
-                                    myConfigNodes.add(nextConfigNode);
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
+            for (PsiFile xmlFile : configFiles) {
+                myConfigNodes.add(new MuleConfigNode(this, xmlFile));
             }
 
             return myConfigNodes.toArray(new SimpleNode[]{});
@@ -139,23 +107,13 @@ public class GlobalConfigsTreeStructure extends SimpleTreeStructure {
         protected SimpleNode[] buildChildren() {
             List<SimpleNode> myConfigNodes = new ArrayList<>();
 
-            final DomManager manager = DomManager.getDomManager(myProject);
-            final DomFileElement<Mule> fileElement = manager.getFileElement((XmlFile) myXmlFile, Mule.class);
-
-            if (fileElement != null) {
-                final Mule rootElement = fileElement.getRootElement();
-                XmlTag[] subTags = rootElement.getXmlTag().getSubTags();
-
-                for (XmlTag nextTag : subTags) {
-                    MuleElementType muleElementType = MuleConfigUtils.getMuleElementTypeFromXmlElement(nextTag);
-
-                    if (muleElementType != null && //This is a global config
-                            (MuleElementType.CONFIG.equals(muleElementType) || (MuleElementType.TRANSPORT_CONNECTOR.equals(muleElementType)))) {
+            final GlobalSearchScope fileScope = GlobalSearchScope.fileScope(myXmlFile);
+            final List<XmlTag> globalConfigs = MuleConfigUtils.getGlobalConfigs(myProject, fileScope);
+            globalConfigs.sort(Comparator.comparingInt(XmlTag::getTextOffset));
 
-                        GlobalConfigNode nextConfigNode = new GlobalConfigNode(this, nextTag);
-                        myConfigNodes.add(nextConfigNode);
-                    }
-                }
+            for (XmlTag nextTag : globalConfigs) {
+                GlobalConfigNode nextConfigNode = new GlobalConfigNode(this, nextTag);
+                myConfigNodes.add(nextConfigNode);
             }
             return myConfigNodes.toArray(new SimpleNode[]{});
         }
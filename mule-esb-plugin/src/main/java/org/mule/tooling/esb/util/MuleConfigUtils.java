@@ -20,9 +20,9 @@ import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.ProjectScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
-import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.xml.DomElement;
 import com.intellij.util.xml.DomFileElement;
 import com.intellij.util.xml.DomManager;
@@ -32,14 +32,17 @@ import com.intellij.xdebugger.breakpoints.XBreakpointProperties;
 import com.intellij.xdebugger.breakpoints.XLineBreakpoint;
 import com.intellij.xdebugger.impl.XSourcePositionImpl;
 import com.intellij.xml.XmlElementDescriptor;
-import com.intellij.xml.impl.schema.ComplexTypeDescriptor;
-import com.intellij.xml.impl.schema.TypeDescriptor;
 import com.intellij.xml.impl.schema.XmlElementDescriptorImpl;
 import com.mulesoft.mule.debugger.commons.*;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.config.MuleConfigConstants;
+import org.mule.tooling.esb.config.index.MuleFlowIndex;
+import org.mule.tooling.esb.config.index.MuleFlowRefIndex;
+import org.mule.tooling.esb.config.index.MuleGlobalElementIndex;
+import org.mule.tooling.esb.config.index.MuleGlobalElementQNameIndex;
+import org.mule.tooling.esb.config.index.MuleIndexUtils;
 import org.mule.tooling.esb.config.model.Flow;
 import org.mule.tooling.esb.config.model.Mule;
 import org.mule.tooling.esb.config.model.SubFlow;
@@ -49,6 +52,7 @@ import org.mule.tooling.lang.dw.parser.psi.WeavePsiUtils;
 
 import javax.xml.namespace.QName;
 import java.util.*;
+import java.util.function.Function;
 
 public class MuleConfigUtils {
     public static final String CONFIG_RELATIVE_PATH = "src/main/app";
@@ -154,8 +158,11 @@ public class MuleConfigUtils {
                 return xmlTag;
             }
         }
-        final GlobalSearchScope searchScope = GlobalSearchScope.projectScope(project);
-        return findGlobalElementInScope(project, elementName, searchScope);
+        final XmlTag projectElement = findGlobalElementInScope(project, elementName, GlobalSearchScope.projectScope(project));
+        if (projectElement != null) {
+            return projectElement;
+        }
+        return findGlobalElementInScope(project, elementName, ProjectScope.getLibrariesScope(project));
     }
 
     @Nullable
@@ -190,19 +197,23 @@ public class MuleConfigUtils {
         return getFlowsInScope(project, searchScope);
     }
 
+    public static Set<String> getFlowNames(Module module) {
+        return MuleFlowIndex.getFlowNames(module.getProject(), GlobalSearchScope.moduleWithDependenciesScope(module));
+    }
+
+    public static Set<String> getFlowNames(Project project) {
+        return MuleFlowIndex.getFlowNames(project, GlobalSearchScope.projectScope(project));
+    }
+
     @NotNull
     private static List<DomElement> getFlowsInScope(Project project, GlobalSearchScope searchScope) {
         final List<DomElement> result = new ArrayList<>();
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, searchScope);
         final DomManager manager = DomManager.getDomManager(project);
-        for (VirtualFile file : files) {
-            final PsiFile xmlFile = PsiManager.getInstance(project).findFile(file);
-            if (isMuleFile(xmlFile)) {
-                final DomFileElement<Mule> fileElement = manager.getFileElement((XmlFile) xmlFile, Mule.class);
-                if (fileElement != null) {
-                    final Mule rootElement = fileElement.getRootElement();
-                    result.addAll(rootElement.getFlows());
-                    result.addAll(rootElement.getSubFlows());
+        for (String flowName : MuleFlowIndex.getFlowNames(project, searchScope)) {
+            for (XmlTag flow : MuleFlowIndex.findFlows(project, flowName, searchScope)) {
+                final DomElement domElement = manager.getDomElement(flow);
+                if (domElement != null) {
+                    result.add(domElement);
                 }
             }
         }
@@ -211,26 +222,12 @@ public class MuleConfigUtils {
 
     @Nullable
     private static XmlTag findGlobalElementInScope(Project project, String elementName, GlobalSearchScope searchScope) {
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, searchScope);
-        for (VirtualFile file : files) {
-            XmlTag flow = findGlobalElementInFile(project, elementName, file);
-            if (flow != null) {
-                return flow;
-            }
-        }
-        return null;
+        return ContainerUtil.getFirstItem(MuleGlobalElementIndex.findGlobalElements(project, elementName, searchScope));
     }
 
     @Nullable
     private static XmlTag findFlowInScope(Project project, String flowName, GlobalSearchScope searchScope) {
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, searchScope);
-        for (VirtualFile file : files) {
-            XmlTag flow = findFlowInFile(project, flowName, file);
-            if (flow != null) {
-                return flow;
-            }
-        }
-        return null;
+        return ContainerUtil.getFirstItem(MuleFlowIndex.findFlows(project, flowName, searchScope));
     }
 
 
@@ -321,49 +318,44 @@ public class MuleConfigUtils {
         final MessageProcessorPath messageProcessorPath = fromPath(path);
         final MessageProcessorPathType type = messageProcessorPath.getType();
         final String flowName = messageProcessorPath.getFlowName();
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, GlobalSearchScope.projectScope(project));
-        final DomManager manager = DomManager.getDomManager(project);
+        final GlobalSearchScope searchScope = GlobalSearchScope.projectScope(project);
+        switch (type) {
+            case processors:
+            case subprocessors:
+                final boolean subFlow = type == MessageProcessorPathType.subprocessors;
+                for (XmlTag flow : MuleFlowIndex.findFlows(project, flowName, searchScope)) {
+                    if (subFlow == isSubFlowTag(flow)) {
+                        return findChildMessageProcessorByPath(messageProcessorPath, flow);
+                    }
+                }
+                return null;
+            default:
+                final XmlTag globalElement = findGlobalElementInScope(project, flowName, searchScope);
+                if (globalElement != null) {
+                    return findChildMessageProcessorByPath(messageProcessorPath, globalElement);
+                }
+                return findTopLevelElementByName(project, messageProcessorPath, searchScope);
+        }
+    }
+
+    /**
+     * Fallback for top level elements that are not indexed, like MUnit tests.
+     */
+    @Nullable
+    private static XmlTag findTopLevelElementByName(Project project, MessageProcessorPath messageProcessorPath, GlobalSearchScope searchScope) {
+        final String flowName = messageProcessorPath.getFlowName();
+        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, searchScope);
         for (VirtualFile file : files) {
             final PsiFile xmlFile = PsiManager.getInstance(project).findFile(file);
             if (isMuleFile(xmlFile)) {
-                final DomFileElement<Mule> fileElement = manager.getFileElement((XmlFile) xmlFile, Mule.class);
-                if (fileElement != null) {
-                    final Mule rootElement = fileElement.getRootElement();
-                    switch (type) {
-                        case processors:
-                            final List<Flow> flows = rootElement.getFlows();
-                            for (Flow flow : flows) {
-                                final XmlAttributeValue xmlAttributeValue = flow.getName().getXmlAttributeValue();
-                                if (xmlAttributeValue != null) {
-                                    if (flowName.equals(xmlAttributeValue.getValue())) {
-                                        XmlTag xmlTag = flow.getXmlTag();
-                                        return findChildMessageProcessorByPath(messageProcessorPath, xmlTag);
-                                    }
-                                }
-                            }
-                            break;
-                        case subprocessors:
-                            final List<SubFlow> subFlows = rootElement.getSubFlows();
-                            for (SubFlow subFlow : subFlows) {
-                                final XmlAttributeValue xmlAttributeValue = subFlow.getName().getXmlAttributeValue();
-                                if (xmlAttributeValue != null && xmlAttributeValue.getValue().equals(flowName)) {
-                                    XmlTag xmlTag = subFlow.getXmlTag();
-                                    return findChildMessageProcessorByPath(messageProcessorPath, xmlTag);
-                                }
-                            }
-                            break;
-                        default:
-                            final XmlTag rootTag = ((XmlFile) xmlFile).getRootTag();
-                            if (rootTag != null) {
-                                final XmlTag[] subTags = rootTag.getSubTags();
-                                for (XmlTag subTag : subTags) {
-                                    final XmlAttribute name = subTag.getAttribute(MuleConfigConstants.NAME_ATTRIBUTE);
-                                    if (name != null && name.getValue() != null && name.getValue().equals(flowName)) {
-                                        return findChildMessageProcessorByPath(messageProcessorPath, subTag);
-                                    }
-                                }
-                            }
-                            break;
+                final XmlTag rootTag = ((XmlFile) xmlFile).getRootTag();
+                if (rootTag != null) {
+                    final XmlTag[] subTags = rootTag.getSubTags();
+                    for (XmlTag subTag : subTags) {
+                        final XmlAttribute name = subTag.getAttribute(MuleConfigConstants.NAME_ATTRIBUTE);
+                        if (name != null && name.getValue() != null && name.getValue().equals(flowName)) {
+                            return findChildMessageProcessorByPath(messageProcessorPath, subTag);
+                        }
                     }
                 }
             }
@@ -459,9 +451,14 @@ public class MuleConfigUtils {
 
     @NotNull
     public static Breakpoint toMuleBreakpoint(Project project, XLineBreakpoint<XBreakpointProperties> lineBreakpoint, @Nullable Map<String, String> modulesToAppsMap) {
+        return toMuleBreakpoint(project, lineBreakpoint, modulesToAppsMap, MuleConfigUtils::getMulePath);
+    }
+
+    @NotNull
+    public static Breakpoint toMuleBreakpoint(Project project, XLineBreakpoint<XBreakpointProperties> lineBreakpoint, @Nullable Map<String, String> modulesToAppsMap, @NotNull Function<XmlTag, String> pathProvider) {
         final XSourcePosition sourcePosition = lineBreakpoint.getSourcePosition();
         final XExpression conditionExpression = lineBreakpoint.getConditionExpression();
-        return toMuleBreakpoint(project, sourcePosition, conditionExpression, modulesToAppsMap);
+        return toMuleBreakpoint(project, sourcePosition, conditionExpression, modulesToAppsMap, pathProvider);
     }
 
     @NotNull
@@ -471,6 +468,11 @@ public class MuleConfigUtils {
 
     @NotNull
     public static Breakpoint toMuleBreakpoint(Project project, @NotNull XSourcePosition sourcePosition, XExpression conditionExpression, @Nullable Map<String, String> modulesToAppsMap) {
+        return toMuleBreakpoint(project, sourcePosition, conditionExpression, modulesToAppsMap, MuleConfigUtils::getMulePath);
+    }
+
+    @NotNull
+    public static Breakpoint toMuleBreakpoint(Project project, @NotNull XSourcePosition sourcePosition, XExpression conditionExpression, @Nullable Map<String, String> modulesToAppsMap, @NotNull Function<XmlTag, String> pathProvider) {
         VirtualFile file = sourcePosition.getFile();
         Module module = ModuleUtilCore.findModuleForFile(file, project);
 
@@ -483,7 +485,7 @@ public class MuleConfigUtils {
         final XmlTag tag = getXmlTagAt(module.getProject(), sourcePosition);
         if (tag != null) {
             //TODO - Module name is an app name - but can I get it from Maven? Or override it by using the additional param?
-            return new Breakpoint(getMulePath(tag), conditionScript, deployableName);
+            return new Breakpoint(pathProvider.apply(tag), conditionScript, deployableName);
         } else {
             final int line = sourcePosition.getLine();
             final Document document = FileDocumentManager.getInstance().getDocument(sourcePosition.getFile());
@@ -494,7 +496,7 @@ public class MuleConfigUtils {
                     final XmlTag weavePart = PsiTreeUtil.getParentOfType(xmlElement, XmlTag.class);
                     final XmlTag weaveTag = PsiTreeUtil.getParentOfType(weavePart, XmlTag.class);
                     int lineNumber = line + 1 - XSourcePositionImpl.createByElement(xmlElement).getLine();
-                    final String mulePath = getMulePath(weaveTag);
+                    final String mulePath = pathProvider.apply(weaveTag);
                     //TODO - Module name is an app name - but can I get it from Maven? Or override it by using the additional param?
                     return new Breakpoint(mulePath, getPrefix(weavePart) + "/" + (lineNumber + 1), conditionScript, deployableName);
                 }
@@ -586,7 +588,6 @@ public class MuleConfigUtils {
                 }
             }
         }
-        System.out.println("path = " + path);
         return path;
     }
 
@@ -594,15 +595,7 @@ public class MuleConfigUtils {
     public static MuleElementType getMuleElementTypeFromXmlElement(XmlTag xmlTag) {
         final XmlElementDescriptor descriptor = xmlTag.getDescriptor();
         if (descriptor instanceof XmlElementDescriptorImpl) {
-            final XmlElementDescriptorImpl xmlElementDescriptor = (XmlElementDescriptorImpl) descriptor;
-            final TypeDescriptor schemaType = xmlElementDescriptor.getType();
-            if (schemaType instanceof ComplexTypeDescriptor) {
-                final XmlTag complexTypeTag = schemaType.getDeclaration();
-                final MuleElementType typeReference = MuleSchemaUtils.getElementTypeFromComplexType(complexTypeTag);
-                if (typeReference != null) {
-                    return typeReference;
-                }
-            }
+            return MuleSchemaUtils.getMuleElementTypeFromDescriptor((XmlElementDescriptorImpl) descriptor);
         } else {
             //This is to handle unknown elements
             if (!(xmlTag.getName().equals("description")) && isContainer(xmlTag.getParentTag())) {
@@ -655,26 +648,35 @@ public class MuleConfigUtils {
         return getGlobalElementsInScope(project, GlobalSearchScope.allScope(project));
     }
 
+    public static Set<String> getGlobalElementNames(Project project) {
+        return MuleGlobalElementIndex.getGlobalElementNames(project, GlobalSearchScope.allScope(project));
+    }
+
+    /**
+     * Returns the connector configs and transport connectors declared in the scope, sorted by file and offset.
+     */
     @NotNull
-    private static List<XmlTag> getGlobalElementsInScope(Project project, GlobalSearchScope searchScope) {
+    public static List<XmlTag> getGlobalConfigs(Project project, GlobalSearchScope searchScope) {
         final List<XmlTag> result = new ArrayList<>();
-        final Collection<VirtualFile> files = FileTypeIndex.getFiles(StdFileTypes.XML, searchScope);
-        final DomManager manager = DomManager.getDomManager(project);
-        for (VirtualFile file : files) {
-            final PsiFile xmlFile = PsiManager.getInstance(project).findFile(file);
-            if (isMuleFile(xmlFile)) {
-                final DomFileElement<Mule> fileElement = manager.getFileElement((XmlFile) xmlFile, Mule.class);
-                if (fileElement != null) {
-                    final Mule rootElement = fileElement.getRootElement();
-                    final XmlTag[] subTags = rootElement.getXmlTag().getSubTags();
-                    for (XmlTag subTag : subTags) {
-                        if (isGlobalElement(subTag)) {
-                            result.add(subTag);
-                        }
-                    }
+        for (QName qName : MuleGlobalElementQNameIndex.getQNames(project, searchScope)) {
+            for (XmlTag element : MuleGlobalElementQNameIndex.findGlobalElements(project, qName, searchScope)) {
+                final MuleElementType muleElementType = getMuleElementTypeFromXmlElement(element);
+                if (MuleElementType.CONFIG.equals(muleElementType) || MuleElementType.TRANSPORT_CONNECTOR.equals(muleElementType)) {
+                    result.add(element);
                 }
             }
         }
+        result.sort(Comparator.comparing((XmlTag tag) -> tag.getContainingFile().getVirtualFile().getPath())
+                              .thenComparingInt(MuleIndexUtils::getOffset));
+        return result;
+    }
+
+    @NotNull
+    private static List<XmlTag> getGlobalElementsInScope(Project project, GlobalSearchScope searchScope) {
+        final List<XmlTag> result = new ArrayList<>();
+        for (String elementName : MuleGlobalElementIndex.getGlobalElementNames(project, searchScope)) {
+            result.addAll(MuleGlobalElementIndex.findGlobalElements(project, elementName, searchScope));
+        }
         return result;
     }
 
@@ -725,24 +727,12 @@ public class MuleConfigUtils {
     }
 
     public static List<XmlTag> findFlowRefsForFlow(@NotNull XmlTag flow) {
-        List<XmlTag> flowRefs = new ArrayList<>();
-
         final Project project = flow.getProject();
         final String flowName = flow.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
-
-        Collection<VirtualFile> vFiles = FileTypeIndex.getFiles(StdFileTypes.XML, ProjectScope.getContentScope(project));
-        for (VirtualFile virtualFile : vFiles) {
-            PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
-            if (psiFile != null) {
-                XmlFile xmlFile = (XmlFile) psiFile;
-                XmlTag mule = xmlFile.getRootTag();
-
-                FlowRefsFinder finder = new FlowRefsFinder(flowName);
-                mule.accept(finder);
-                flowRefs.addAll(finder.getFlowRefs());
-            }
+        if (flowName == null) {
+            return new ArrayList<>();
         }
-        return flowRefs;
+        return MuleFlowRefIndex.findFlowRefs(project, flowName, ProjectScope.getContentScope(project));
     }
 
     public static List<Module> getMuleModules(Project project, boolean includeDomains)
@@ -757,30 +747,4 @@ public class MuleConfigUtils {
         }
         return muleModules;
     }
-    
-    private static class FlowRefsFinder extends PsiRecursiveElementVisitor {
-        private List<XmlTag> flowRefs = new ArrayList<>();
-        private String flowName;
-
-        public FlowRefsFinder(@NotNull String flowName) {
-            this.flowName = flowName;
-        }
-
-        public void visitElement(PsiElement element) {
-            super.visitElement(element);
-
-            if (element != null && element instanceof XmlTag) {
-                XmlTag tag = (XmlTag) element;
-                if (MuleConfigConstants.FLOW_REF_TAG_NAME.equals(tag.getName())) {
-                    String fn = tag.getAttributeValue(MuleConfigConstants.NAME_ATTRIBUTE);
-                    if (flowName.equals(fn))
-                        flowRefs.add(tag);
-                }
-            }
-        }
-
-        public List<XmlTag> getFlowRefs() {
-            return flowRefs;
-        }
-    }
 }
@@ -1,6 +1,10 @@
 package org.mule.tooling.esb.util;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 public enum MuleElementType {
     MESSAGE_SOURCE("abstractMessageSourceType", "inboundEndpointType"),
@@ -9,6 +13,16 @@ public enum MuleElementType {
     CONFIG("abstractExtensionType"),
     TRANSPORT_CONNECTOR("abstractConnectorType");
 
+    private static final Map<String, MuleElementType> BY_TYPE = new HashMap<>();
+
+    static {
+        for (MuleElementType muleElementType : values()) {
+            for (String validType : muleElementType.validTypes) {
+                BY_TYPE.put(validType, muleElementType);
+            }
+        }
+    }
+
     private String[] validTypes;
 
     MuleElementType(String... validTypes) {
@@ -18,4 +32,9 @@ public enum MuleElementType {
     public boolean isValidType(String type) {
         return Arrays.asList(validTypes).contains(type);
     }
+
+    @Nullable
+    public static MuleElementType fromType(String type) {
+        return BY_TYPE.get(type);
+    }
 }
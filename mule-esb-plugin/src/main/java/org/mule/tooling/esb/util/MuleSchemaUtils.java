@@ -1,20 +1,35 @@
 package org.mule.tooling.esb.util;
 
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.XmlElementFactory;
 import com.intellij.psi.impl.source.resolve.reference.impl.providers.SchemaReferencesProvider;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
+import com.intellij.xml.impl.schema.ComplexTypeDescriptor;
+import com.intellij.xml.impl.schema.TypeDescriptor;
+import com.intellij.xml.impl.schema.XmlElementDescriptorImpl;
 import com.intellij.xml.util.XmlUtil;
 import org.jetbrains.annotations.Nullable;
 import org.mule.tooling.esb.config.MuleConfigConstants;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class MuleSchemaUtils {
 
     public static final String HTTP_WWW_W3_ORG_2001_XMLSCHEMA = "http://www.w3.org/2001/XMLSchema";
 
+    private static final Key<CachedValue<Map<Integer, Optional<MuleElementType>>>> ELEMENT_TYPES_KEY = Key.create("MULE_ELEMENT_TYPES");
+
     @Nullable
     public static MuleElementType getMuleElementTypeFromElement(XmlTag elementTypeTag) {
         final XmlAttribute type = elementTypeTag.getAttribute("type");
@@ -85,11 +100,31 @@ public class MuleSchemaUtils {
 
     @Nullable
     private static MuleElementType getMuleElementType(String name) {
-        final MuleElementType[] muleElementTypes = MuleElementType.values();
-        for (MuleElementType muleElementType : muleElementTypes) {
-            if (muleElementType.isValidType(name)) {
-                return muleElementType;
-            }
+        return MuleElementType.fromType(name);
+    }
+
+    /**
+     * Returns the Mule element type of a schema element declaration. Results are memoized per XSD, keyed by
+     * the offset of the element declaration, and dropped when the XSD or the project roots change.
+     */
+    @Nullable
+    public static MuleElementType getMuleElementTypeFromDescriptor(XmlElementDescriptorImpl descriptor) {
+        final XmlTag declaration = descriptor.getDeclaration();
+        final PsiFile schemaFile = declaration != null ? declaration.getContainingFile() : null;
+        if (schemaFile == null) {
+            return computeMuleElementType(descriptor);
+        }
+        final Map<Integer, Optional<MuleElementType>> elementTypes = CachedValuesManager.getCachedValue(schemaFile, ELEMENT_TYPES_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(), schemaFile, ProjectRootManager.getInstance(schemaFile.getProject())));
+        return elementTypes.computeIfAbsent(declaration.getTextOffset(), offset -> Optional.ofNullable(computeMuleElementType(descriptor))).orElse(null);
+    }
+
+    @Nullable
+    private static MuleElementType computeMuleElementType(XmlElementDescriptorImpl descriptor) {
+        final TypeDescriptor schemaType = descriptor.getType();
+        if (schemaType instanceof ComplexTypeDescriptor) {
+            final XmlTag complexTypeTag = schemaType.getDeclaration();
+            return getElementTypeFromComplexType(complexTypeTag);
         }
         return null;
     }
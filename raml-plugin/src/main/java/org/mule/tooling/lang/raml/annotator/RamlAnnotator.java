@@ -3,15 +3,17 @@ package org.mule.tooling.lang.raml.annotator;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.ExternalAnnotator;
 import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.mule.tooling.lang.raml.model.RamlModel;
+import org.mule.tooling.lang.raml.model.RamlModelManager;
 import org.mule.tooling.lang.raml.util.RamlUtils;
 
-import org.raml.v2.internal.impl.RamlBuilder;
 import org.raml.yagi.framework.nodes.ErrorNode;
-import org.raml.yagi.framework.nodes.Node;
 
 import java.util.List;
 
@@ -34,8 +36,9 @@ public class RamlAnnotator extends ExternalAnnotator<PsiFile, RamlAnnotator.Raml
 
     @Nullable @Override public RamlValidationResult doAnnotate(PsiFile file)
     {
-        final Node build = new RamlBuilder().build(file.getText(), file.getVirtualFile().getPath());
-        final List<ErrorNode> descendantsWith = build.findDescendantsWith(ErrorNode.class);
+        //Runs under the highlighting progress, which is canceled as soon as the document changes again
+        final RamlModel model = ApplicationManager.getApplication().runReadAction((Computable<RamlModel>) () -> RamlModelManager.getInstance().getModel(file));
+        final List<ErrorNode> descendantsWith = model.getErrors();
         return new RamlValidationResult(descendantsWith, file);
     }
 
@@ -9,11 +9,10 @@ import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
+import org.mule.tooling.lang.raml.model.RamlModelManager;
 import org.mule.tooling.lang.raml.util.RamlUtils;
 
-import org.raml.v2.internal.impl.RamlSuggester;
 import org.raml.yagi.framework.suggester.Suggestion;
-import org.raml.yagi.framework.suggester.Suggestions;
 
 import java.util.List;
 
@@ -39,11 +38,7 @@ public class RamlCompletionContributor extends CompletionContributor
             final PsiFile originalFile = completionParameters.getOriginalFile();
             if (RamlUtils.isRamlFile(originalFile))
             {
-                final String text = originalFile.getText();
-                System.out.println("text = " + text);
-                System.out.println("offset = " + offset);
-                final Suggestions suggestions = new RamlSuggester().suggestions(text, offset);
-                final List<Suggestion> suggestionList = suggestions.getSuggestions();
+                final List<Suggestion> suggestionList = RamlModelManager.getInstance().getModel(originalFile).getSuggestions(offset);
                 for (Suggestion suggestion : suggestionList)
                 {
                     final LookupElementBuilder map = LookupElementBuilder.create(suggestion.getValue())
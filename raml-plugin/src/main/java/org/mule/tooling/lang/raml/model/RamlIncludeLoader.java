@@ -0,0 +1,174 @@
+package org.mule.tooling.lang.raml.model;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.raml.v2.api.loader.DefaultResourceLoader;
+import org.raml.v2.api.loader.ResourceLoader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the <code>!include</code> of a RAML build from the VFS. The content of every include is kept until its
+ * modification stamp changes, so unchanged fragments are neither read from disk nor copied from their document again.
+ * Unsaved changes of an open include are seen like the saved ones.
+ */
+public class RamlIncludeLoader
+{
+    private static final Logger LOG = Logger.getInstance(RamlIncludeLoader.class);
+
+    private final Map<String, IncludeContent> contents = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a loader for one build of the given root file. It records the stamp of every include it serves.
+     */
+    @NotNull
+    public BuildLoader newBuildLoader(@NotNull VirtualFile rootFile)
+    {
+        return new BuildLoader(rootFile);
+    }
+
+    /**
+     * Returns true if the given includes still have the recorded stamps.
+     */
+    public boolean isUpToDate(@NotNull Map<String, Long> includeStamps)
+    {
+        for (Map.Entry<String, Long> includeStamp : includeStamps.entrySet())
+        {
+            final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(includeStamp.getKey());
+            if (file == null || getStamp(file) != includeStamp.getValue())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private IncludeContent getContent(@NotNull VirtualFile file)
+    {
+        final long stamp = getStamp(file);
+        IncludeContent content = contents.get(file.getPath());
+        if (content == null || content.stamp != stamp)
+        {
+            final byte[] bytes = ApplicationManager.getApplication().runReadAction((Computable<byte[]>) () -> {
+                final Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+                if (document != null)
+                {
+                    return document.getText().getBytes(StandardCharsets.UTF_8);
+                }
+                try
+                {
+                    return file.contentsToByteArray();
+                }
+                catch (IOException e)
+                {
+                    LOG.debug(e);
+                    return null;
+                }
+            });
+            if (bytes == null)
+            {
+                contents.remove(file.getPath());
+                return null;
+            }
+            content = new IncludeContent(stamp, bytes);
+            contents.put(file.getPath(), content);
+        }
+        return content;
+    }
+
+    private static long getStamp(@NotNull VirtualFile file)
+    {
+        final Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        return document != null ? document.getModificationStamp() : file.getModificationStamp();
+    }
+
+    private static class IncludeContent
+    {
+        private final long stamp;
+        private final byte[] bytes;
+
+        private IncludeContent(long stamp, byte[] bytes)
+        {
+            this.stamp = stamp;
+            this.bytes = bytes;
+        }
+    }
+
+    public class BuildLoader implements ResourceLoader
+    {
+        private final VirtualFile rootFile;
+        private final ResourceLoader fallback = new DefaultResourceLoader();
+        private final Map<String, Long> includeStamps = new HashMap<>();
+
+        private BuildLoader(@NotNull VirtualFile rootFile)
+        {
+            this.rootFile = rootFile;
+        }
+
+        @Nullable
+        @Override
+        public InputStream fetchResource(String resourceName)
+        {
+            //The parser reads the includes one by one, stop as soon as the file changed again
+            ProgressManager.checkCanceled();
+            final VirtualFile file = findFile(resourceName);
+            if (file == null || file.isDirectory())
+            {
+                return fallback.fetchResource(resourceName);
+            }
+            final IncludeContent content = getContent(file);
+            if (content == null)
+            {
+                return null;
+            }
+            synchronized (includeStamps)
+            {
+                includeStamps.put(file.getPath(), content.stamp);
+            }
+            return new ByteArrayInputStream(content.bytes);
+        }
+
+        /**
+         * Returns the path and stamp of every include served so far.
+         */
+        @NotNull
+        public Map<String, Long> getIncludeStamps()
+        {
+            synchronized (includeStamps)
+            {
+                return new HashMap<>(includeStamps);
+            }
+        }
+
+        @Nullable
+        private VirtualFile findFile(String resourceName)
+        {
+            if (resourceName == null || resourceName.contains("://"))
+            {
+                return null;
+            }
+            if (new File(resourceName).isAbsolute())
+            {
+                return LocalFileSystem.getInstance().findFileByPath(resourceName);
+            }
+            final VirtualFile parent = rootFile.getParent();
+            return parent != null ? parent.findFileByRelativePath(resourceName) : null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.mule.tooling.lang.raml.model;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.raml.v2.internal.impl.RamlBuilder;
+import org.raml.v2.internal.impl.RamlSuggester;
+import org.raml.yagi.framework.nodes.ErrorNode;
+import org.raml.yagi.framework.nodes.Node;
+import org.raml.yagi.framework.suggester.Suggestion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parsed RAML of one version of a root document. The node tree is built on first use and rebuilt only if one of
+ * its includes changed. Suggestions are kept per offset with the same check.
+ */
+public class RamlModel
+{
+    private final VirtualFile file;
+    private final String text;
+    private final RamlIncludeLoader includeLoader;
+
+    private Node root;
+    private Map<String, Long> includeStamps;
+    private final Map<Integer, CachedSuggestions> suggestions = new ConcurrentHashMap<>();
+
+    RamlModel(@NotNull VirtualFile file, @NotNull String text, @NotNull RamlIncludeLoader includeLoader)
+    {
+        this.file = file;
+        this.text = text;
+        this.includeLoader = includeLoader;
+    }
+
+    /**
+     * Returns the node tree of the document. The build stops with a
+     * {@link com.intellij.openapi.progress.ProcessCanceledException} when the current progress is canceled.
+     */
+    @NotNull
+    public synchronized Node getRoot()
+    {
+        if (root == null || !includeLoader.isUpToDate(includeStamps))
+        {
+            ProgressManager.checkCanceled();
+            final RamlIncludeLoader.BuildLoader loader = includeLoader.newBuildLoader(file);
+            root = new RamlBuilder().build(text, loader, file.getPath());
+            includeStamps = loader.getIncludeStamps();
+        }
+        return root;
+    }
+
+    @NotNull
+    public List<ErrorNode> getErrors()
+    {
+        return getRoot().findDescendantsWith(ErrorNode.class);
+    }
+
+    /**
+     * Returns the completion suggestions at the given offset of the document.
+     */
+    @NotNull
+    public List<Suggestion> getSuggestions(int offset)
+    {
+        final CachedSuggestions cached = suggestions.get(offset);
+        if (cached != null && includeLoader.isUpToDate(cached.includeStamps))
+        {
+            return cached.suggestions;
+        }
+        final RamlIncludeLoader.BuildLoader loader = includeLoader.newBuildLoader(file);
+        final List<Suggestion> result = new RamlSuggester(loader).suggestions(text, offset).getSuggestions();
+        suggestions.put(offset, new CachedSuggestions(result, loader.getIncludeStamps()));
+        return result;
+    }
+
+    private static class CachedSuggestions
+    {
+        private final List<Suggestion> suggestions;
+        private final Map<String, Long> includeStamps;
+
+        private CachedSuggestions(List<Suggestion> suggestions, Map<String, Long> includeStamps)
+        {
+            this.suggestions = suggestions;
+            this.includeStamps = includeStamps;
+        }
+    }
+}
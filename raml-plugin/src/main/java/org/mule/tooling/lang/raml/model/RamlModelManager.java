@@ -0,0 +1,32 @@
+package org.mule.tooling.lang.raml.model;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Hands out the {@link RamlModel} of RAML files. The model of a file is shared by the validation and the completion,
+ * and is dropped when the PSI of the file changes. The includes of every model come from one {@link RamlIncludeLoader}.
+ */
+public class RamlModelManager
+{
+    private final RamlIncludeLoader includeLoader = new RamlIncludeLoader();
+
+    public static RamlModelManager getInstance()
+    {
+        return ServiceManager.getService(RamlModelManager.class);
+    }
+
+    /**
+     * Returns the model of the current text of the file. Must be called in a read action, the model itself can be
+     * used outside of it.
+     */
+    @NotNull
+    public RamlModel getModel(@NotNull PsiFile file)
+    {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+                new RamlModel(file.getViewProvider().getVirtualFile(), file.getText(), includeLoader), file));
+    }
+}